@@ -0,0 +1,87 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.ChessPosition;
+import chess.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChessMatchBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "QUEENS_GAMBIT", "ENDGAME", "ROOK_ENDGAME"})
+    public Positions position;
+
+    private ChessMatch base;
+    private ChessPosition source;
+    private ChessPosition target;
+    private int[] moves;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        base = position.create();
+        moves = new int[ChessMatch.MAX_MOVES];
+        if (base.legalMoves(moves) == 0)
+            throw new IllegalStateException("Posição sem lances legais");
+        source = Positions.position(Move.toString(moves[0]), 0);
+        target = Positions.position(Move.toString(moves[0]), 2);
+    }
+
+    // performChessMove mutates the match and has no undo, so every move needs its own copy. The copies are
+    // made a batch at a time outside the measurement: a per-invocation setup around a single sub-microsecond
+    // move would mostly measure JMH's own timestamps
+    private static final int BATCH = 1024;
+
+    @State(Scope.Thread)
+    public static class MoveState {
+
+        private final ChessMatch[] matches = new ChessMatch[BATCH];
+
+        @Setup(Level.Invocation)
+        public void setup(ChessMatchBenchmark benchmark) {
+            for (int i = 0; i < BATCH; i++)
+                matches[i] = new ChessMatch(benchmark.base);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void performChessMove(MoveState state, Blackhole blackhole) {
+        for (ChessMatch chessMatch : state.matches)
+            blackhole.consume(chessMatch.performChessMove(source, target));
+    }
+
+    @Benchmark
+    public boolean testCheck() {
+        return base.testCheck(base.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public boolean testCheckMate() {
+        return base.testCheckMate(base.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public int legalMoves() {
+        return base.legalMoves(moves);
+    }
+}
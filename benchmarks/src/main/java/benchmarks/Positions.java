@@ -0,0 +1,41 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.ChessPosition;
+
+public enum Positions {
+
+    OPENING(),
+    MIDDLEGAME("e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "f8c5", "c2c3", "g8f6", "d2d4", "e5d4",
+            "c3d4", "c5b4", "b1c3", "f6e4", "e1g1"),
+    QUEENS_GAMBIT("d2d4", "d7d5", "c2c4", "e7e6", "b1c3", "g8f6", "c1g5", "f8e7", "e2e3", "e8g8",
+            "g1f3", "b8d7"),
+    ENDGAME("g1f3", "b7b5", "c2c3", "b5b4", "c3b4", "c8a6", "a2a3", "a6e2", "d1e2", "d7d6",
+            "e2e7", "e8e7", "f3h4", "a7a6", "f1a6", "b8a6", "h1g1", "a6b4", "a3b4", "a8a1",
+            "e1d1", "a1b1", "h2h3", "b1c1", "d1c1", "d8a8", "g1f1", "a8g2", "h4g2", "d6d5",
+            "g2e3", "g7g5", "e3d5", "e7e6", "d5c7", "e6f6", "b4b5", "f8d6", "c1c2", "d6c7",
+            "b2b3", "g8e7", "c2b1", "h8g8", "f2f3", "g8e8", "b1c2", "f6e5", "h3h4", "g5h4",
+            "f1f2", "c7a5", "b3b4", "a5b4", "f2f1", "b4d2", "c2d2", "e5d4", "d2d1", "d4c4"),
+    ROOK_ENDGAME("g1h3", "b7b5", "a2a3", "c8a6", "d2d4", "b5b4", "a3b4", "a6e2", "f1e2", "g8f6",
+            "a1a7", "a8a7", "b1a3", "a7a3", "b2a3", "e7e6", "c1e3", "f8b4", "a3b4", "e8g8",
+            "e2a6", "b8a6", "f2f3", "a6b4", "d1d2", "b4c2", "d2c2", "g8h8", "c2c7", "d8c7",
+            "h1g1", "c7h2", "e3h6", "h2g1", "h3g1", "g7h6", "g2g3", "f6e8", "d4d5", "e6d5",
+            "g1e2", "e8f6", "e2c3", "f8d8", "c3d5", "f6d5", "e1d1", "f7f6", "d1c1", "d8a8");
+
+    private final String[] moves;
+
+    Positions(String... moves) {
+        this.moves = moves;
+    }
+
+    public ChessMatch create() {
+        ChessMatch chessMatch = new ChessMatch();
+        for (String move : moves)
+            chessMatch.performChessMove(position(move, 0), position(move, 2));
+        return chessMatch;
+    }
+
+    static ChessPosition position(String move, int offset) {
+        return new ChessPosition(move.charAt(offset + 1) - '0', move.charAt(offset));
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.PieceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PossibleMovesBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType type;
+
+    @Param({"MIDDLEGAME", "QUEENS_GAMBIT"})
+    public Positions position;
+
+    private ChessPiece piece;
+    private int[] moves;
+
+    @Setup
+    public void setup() {
+        ChessMatch chessMatch = position.create();
+        for (ChessPiece[] row : chessMatch.getPieces()) {
+            for (ChessPiece p : row) {
+                if (p != null && p.getType() == type && p.getColor() == chessMatch.getCurrentPlayer())
+                    piece = p;
+            }
+        }
+        if (piece == null)
+            throw new IllegalStateException("Posição sem peça do tipo " + type);
+        moves = new int[ChessMatch.MAX_MOVES];
+    }
+
+    @Benchmark
+    public boolean[][] possibleMoves() {
+        return piece.possibleMoves();
+    }
+
+    @Benchmark
+    public long possibleMovesMask() {
+        return piece.possibleMovesMask();
+    }
+
+    @Benchmark
+    public int possibleMovesBuffer() {
+        return piece.possibleMoves(moves, 0);
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import application.BoardView;
+import application.TerminalRenderer;
+import chess.ChessMatch;
+import chess.ChessPiece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Frames drawn by BoardView into a TerminalRenderer writing to nowhere. An unchanged frame measures drawing
+// and diffing alone; fullRedraw forgets the screen first, so every cell is encoded and written again
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UIBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public Positions position;
+
+    private ChessMatch chessMatch;
+    private List<ChessPiece> captured;
+    private long possibleMoves;
+    private TerminalRenderer renderer;
+
+    @Setup
+    public void setup() {
+        chessMatch = position.create();
+        captured = new ArrayList<>();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece p = chessMatch.piece(square);
+            if (p != null && p.getColor() == chessMatch.getCurrentPlayer() && p.isThereAnyPossibleMove())
+                possibleMoves = chessMatch.possibleMovesMask(p.getChessPosition());
+        }
+        renderer = new TerminalRenderer(OutputStream.nullOutputStream(), StandardCharsets.UTF_8, 24, 80);
+    }
+
+    @Benchmark
+    public void frame() {
+        draw(0L);
+    }
+
+    @Benchmark
+    public void frameWithMoves() {
+        draw(possibleMoves);
+    }
+
+    @Benchmark
+    public void fullRedraw() {
+        renderer.invalidate();
+        draw(possibleMoves);
+    }
+
+    private void draw(long highlight) {
+        renderer.clear();
+        BoardView.drawMatch(renderer, chessMatch, captured, highlight);
+        renderer.flush();
+    }
+}
@@ -0,0 +1,61 @@
+package application;
+
+import chess.engine.BatchAnalyzer;
+import chess.engine.SearchLimits;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class AnalyzeRunner {
+
+    private static final String USAGE = "Uso: analyze <posições.epd> [depth=N | nodes=N] [threads=N] [hash=MB] [out=<arquivo>]";
+
+    public static void run(String[] args) {
+        if (args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+        int depth = 6;
+        long nodes = 0L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int hash = 8;
+        String out = null;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("depth="))
+                depth = Integer.parseInt(args[i].substring("depth=".length()));
+            else if (args[i].startsWith("nodes="))
+                nodes = Long.parseLong(args[i].substring("nodes=".length()));
+            else if (args[i].startsWith("threads="))
+                threads = Integer.parseInt(args[i].substring("threads=".length()));
+            else if (args[i].startsWith("hash="))
+                hash = Integer.parseInt(args[i].substring("hash=".length()));
+            else if (args[i].startsWith("out="))
+                out = args[i].substring("out=".length());
+        }
+        SearchLimits limits = nodes > 0 ? SearchLimits.nodes(nodes) : SearchLimits.depth(depth);
+        BatchAnalyzer analyzer = new BatchAnalyzer(threads, limits, hash);
+
+        long start = System.nanoTime();
+        try (PrintWriter writer = out == null
+                ? new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))
+                : new PrintWriter(Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8))) {
+            long count = analyzer.analyze(Paths.get(args[1]), analysis -> writer.println(analysis));
+            writer.flush();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d posições (%d erros), %d nós em %.3f s: %.1f posições/s com %d threads%n", count,
+                    analyzer.getErrors(), analyzer.getNodes(), seconds, count / seconds, threads);
+        }
+        catch (IOException | UncheckedIOException e) {
+            System.out.println("Erro de E/S: " + e.getMessage());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
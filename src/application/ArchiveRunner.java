@@ -0,0 +1,91 @@
+package application;
+
+import chess.archive.GameArchive;
+import chess.archive.GameArchiveWriter;
+import chess.pgn.PgnReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ArchiveRunner {
+
+    // Uso: archive pack <entrada.pgn> <saida.xga> | archive replay <arquivo.xga> [threads=N]
+    public static void run(String[] args) {
+        try {
+            if (args.length >= 4 && args[1].equals("pack"))
+                pack(Paths.get(args[2]), Paths.get(args[3]));
+            else if (args.length >= 3 && args[1].equals("replay"))
+                replay(Paths.get(args[2]), threads(args));
+            else
+                System.out.println("Uso: archive pack <entrada.pgn> <saida.xga> | archive replay <arquivo.xga> [threads=N]");
+        }
+        catch (IOException e) {
+            System.out.println("Erro de E/S: " + e.getMessage());
+        }
+    }
+
+    private static void pack(Path pgn, Path archive) throws IOException {
+        long start = System.nanoTime();
+        long skipped;
+        int games;
+        try (PgnReader reader = PgnReader.open(pgn); GameArchiveWriter writer = new GameArchiveWriter(archive)) {
+            skipped = writer.addAll(reader);
+            games = writer.getGames();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d jogos gravados, %d ignorados em %.3f s%n", games, skipped, seconds);
+        System.out.printf("PGN: %d bytes, arquivo: %d bytes%n", Files.size(pgn), Files.size(archive));
+    }
+
+    private static void replay(Path path, int threads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (GameArchive archive = GameArchive.open(path)) {
+            long start = System.nanoTime();
+            int games = archive.size();
+            List<Future<Long>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int from = (int) ((long) games * t / threads);
+                int to = (int) ((long) games * (t + 1) / threads);
+                futures.add(executor.submit(() -> {
+                    long moves = 0;
+                    for (int game = from; game < to; game++) {
+                        archive.replay(game);
+                        moves += archive.moveCount(game);
+                    }
+                    return moves;
+                }));
+            }
+            long moves = 0;
+            for (Future<Long> future : futures)
+                moves += future.get();
+            long nanos = System.nanoTime() - start;
+            System.out.printf("%d jogos, %d lances em %.3f s (%d jogos/s)%n", games, moves, nanos / 1e9,
+                    nanos == 0 ? 0 : games * 1_000_000_000L / nanos);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            System.out.println("Erro ao reproduzir: " + e.getCause());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int threads(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("threads="))
+                return Integer.parseInt(arg.substring("threads=".length()));
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,106 @@
+package application;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Color;
+import chess.metrics.Metrics;
+import chess.metrics.Probe;
+
+import java.util.List;
+
+// Draws matches into a TerminalRenderer frame with the same layout and colors as UI
+public class BoardView {
+
+    public static final int BOARD_ROWS = 9;
+    public static final int BOARD_COLUMNS = 17;
+    // A grid cell holds a title line, the board and a status line, plus one blank column and row as gutter
+    public static final int CELL_ROWS = BOARD_ROWS + 3;
+    public static final int CELL_COLUMNS = BOARD_COLUMNS + 5;
+
+    // highlight has bit row*8+col set for each square to mark, as returned by possibleMovesMask
+    public static void drawBoard(TerminalRenderer renderer, int row, int column, ChessMatch chessMatch, long highlight) {
+        for (int i = 0; i < 8; i++) {
+            renderer.put(row + i, column, (char) ('8' - i), TerminalRenderer.PLAIN);
+            for (int j = 0; j < 8; j++) {
+                int square = i * 8 + j;
+                boolean marked = (highlight & (1L << square)) != 0;
+                ChessPiece piece = chessMatch.piece(square);
+                char c = piece == null ? '-' : piece.toString().charAt(0);
+                renderer.put(row + i, column + 2 + j * 2, c, style(piece, marked));
+            }
+        }
+        renderer.text(row + 8, column, "  A B C D E F G H", TerminalRenderer.PLAIN);
+    }
+
+    // Returns the first free row below the match
+    public static int drawMatch(TerminalRenderer renderer, ChessMatch chessMatch, List<ChessPiece> captured, long highlight) {
+        long start = Metrics.start();
+        drawBoard(renderer, 0, 0, chessMatch, highlight);
+        int row = BOARD_ROWS + 1;
+        renderer.text(row++, 0, "Peças capturadas: ", TerminalRenderer.PLAIN);
+        int column = renderer.text(row, 0, "Brancas: ", TerminalRenderer.PLAIN);
+        renderer.text(row++, column, captured(captured, Color.WHITE), TerminalRenderer.WHITE_PIECE);
+        column = renderer.text(row, 0, "Pretas: ", TerminalRenderer.PLAIN);
+        renderer.text(row++, column, captured(captured, Color.BLACK), TerminalRenderer.BLACK_PIECE);
+        row++;
+        renderer.text(row++, 0, "Turno: " + chessMatch.getTurn(), TerminalRenderer.PLAIN);
+        String color = (chessMatch.getCurrentPlayer() == Color.WHITE) ? "brancas" : "pretas";
+        renderer.text(row++, 0, "Movimento atual: Peças " + color, TerminalRenderer.PLAIN);
+        if (chessMatch.isStalemate())
+            renderer.text(row++, 0, "EMPATE POR AFOGAMENTO!", TerminalRenderer.ALERT);
+        else if (!chessMatch.isCheckMate()) {
+            if (chessMatch.isCheck())
+                renderer.text(row++, 0, "CHECK!", TerminalRenderer.ALERT);
+        }
+        else {
+            renderer.text(row++, 0, "CHECKMATE!", TerminalRenderer.ALERT);
+            String winner = (chessMatch.getCurrentPlayer() == Color.WHITE) ? "Peças brancas" : "Peças pretas";
+            renderer.text(row++, 0, winner + " venceram", TerminalRenderer.ALERT);
+        }
+        Metrics.stop(Probe.UI_RENDER, start);
+        return row;
+    }
+
+    // Lays the matches out left to right, top to bottom; titles and statuses are truncated to the cell width.
+    // Cells that do not fit on the screen are skipped by the renderer
+    public static void drawGrid(TerminalRenderer renderer, List<ChessMatch> matches, List<String> titles,
+                                List<String> statuses, int columns) {
+        long start = Metrics.start();
+        for (int i = 0; i < matches.size(); i++) {
+            int row = (i / columns) * CELL_ROWS;
+            int column = (i % columns) * CELL_COLUMNS;
+            renderer.text(row, column, fit(titles.get(i)), TerminalRenderer.PLAIN);
+            drawBoard(renderer, row + 1, column, matches.get(i), 0L);
+            renderer.text(row + 1 + BOARD_ROWS, column, fit(statuses.get(i)), TerminalRenderer.ALERT);
+        }
+        Metrics.stop(Probe.UI_RENDER, start);
+    }
+
+    public static int gridRows(int boards, int columns) {
+        return (boards + columns - 1) / columns * CELL_ROWS;
+    }
+
+    private static int style(ChessPiece piece, boolean marked) {
+        if (piece == null)
+            return marked ? TerminalRenderer.HIGHLIGHT : TerminalRenderer.PLAIN;
+        if (piece.getColor() == Color.WHITE)
+            return marked ? TerminalRenderer.WHITE_PIECE_HIGHLIGHT : TerminalRenderer.WHITE_PIECE;
+        return marked ? TerminalRenderer.BLACK_PIECE_HIGHLIGHT : TerminalRenderer.BLACK_PIECE;
+    }
+
+    private static String captured(List<ChessPiece> captured, Color color) {
+        StringBuilder sb = new StringBuilder("[");
+        for (ChessPiece piece : captured) {
+            if (piece.getColor() != color)
+                continue;
+            if (sb.length() > 1)
+                sb.append(", ");
+            sb.append(piece);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String fit(String text) {
+        return text.length() <= CELL_COLUMNS - 1 ? text : text.substring(0, CELL_COLUMNS - 1);
+    }
+}
@@ -0,0 +1,76 @@
+package application;
+
+import chess.ChessMatch;
+import chess.book.BookMove;
+import chess.book.OpeningBook;
+import chess.book.OpeningBookBuilder;
+import chess.book.PolyglotKeys;
+import chess.pgn.PgnReader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public class BookRunner {
+
+    private static final String USAGE = "Uso: book build <entrada.pgn> <livro.bin> [plies=N] [min=N] [keys=<random64>]"
+            + " | book probe <livro.bin> [keys=<random64>] [fen <posição FEN>]";
+
+    public static void run(String[] args) {
+        if (args.length < 3) {
+            System.out.println(USAGE);
+            return;
+        }
+        int plies = 20;
+        int min = 1;
+        String keysFile = null;
+        String fen = null;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith("plies="))
+                plies = Integer.parseInt(args[i].substring("plies=".length()));
+            else if (args[i].startsWith("min="))
+                min = Integer.parseInt(args[i].substring("min=".length()));
+            else if (args[i].startsWith("keys="))
+                keysFile = args[i].substring("keys=".length());
+            else if (args[i].equals("fen")) {
+                fen = String.join(" ", Arrays.copyOfRange(args, i + 1, args.length));
+                break;
+            }
+        }
+
+        try {
+            ToLongFunction<ChessMatch> keys = keysFile == null ? ChessMatch::getZobristKey : PolyglotKeys.load(Paths.get(keysFile));
+            if (args[1].equals("build") && args.length >= 4) {
+                long start = System.nanoTime();
+                OpeningBookBuilder builder = new OpeningBookBuilder(plies, min, keys);
+                long skipped;
+                try (PgnReader reader = PgnReader.open(Paths.get(args[2]))) {
+                    skipped = builder.addAll(reader);
+                }
+                int entries = builder.write(Paths.get(args[3]));
+                System.out.printf("%d jogos (%d ignorados), %d entradas em %.3f s%n", builder.getGames(), skipped,
+                        entries, (System.nanoTime() - start) / 1e9);
+            }
+            else if (args[1].equals("probe")) {
+                try (OpeningBook book = OpeningBook.open(Paths.get(args[2]), keys)) {
+                    ChessMatch match = fen == null ? new ChessMatch() : new ChessMatch(fen);
+                    long start = System.nanoTime();
+                    List<BookMove> moves = book.candidates(match);
+                    long nanos = System.nanoTime() - start;
+                    if (moves.isEmpty())
+                        System.out.println("Posição fora do livro");
+                    for (BookMove move : moves)
+                        System.out.println(move);
+                    System.out.printf("%d entradas no livro, consulta em %d µs%n", book.size(), nanos / 1000);
+                }
+            }
+            else
+                System.out.println(USAGE);
+        }
+        catch (IOException e) {
+            System.out.println("Erro de E/S: " + e.getMessage());
+        }
+    }
+}
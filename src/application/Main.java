@@ -6,34 +6,77 @@ import chess.ChessException;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.ChessPosition;
+import chess.metrics.Metrics;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 public class Main {
+
+    private static final int SCREEN_ROWS = 24;
+    private static final int SCREEN_COLUMNS = 80;
+    private static final int PROMPT_ROW = 20;
+
     public static void main(String[] args) {
 
+        // -Dxadrez.metrics=true turns the counters on, -Dxadrez.metrics.jmx=true also exposes them over JMX
+        if (Boolean.getBoolean("xadrez.metrics.jmx"))
+            Metrics.registerMBean();
+
+        if (args.length > 0 && args[0].equals("perft")) {
+            PerftRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("pgn")) {
+            PgnRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("archive")) {
+            ArchiveRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("book")) {
+            BookRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("uci")) {
+            UciRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("analyze")) {
+            AnalyzeRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("server")) {
+            ServerRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("watch")) {
+            WatchRunner.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("tablebase")) {
+            TablebaseRunner.run(args);
+            return;
+        }
+
         Scanner sc = new Scanner(System.in);
         ChessMatch chessMatch = new ChessMatch();
         List<ChessPiece> captured = new ArrayList<>();
+        TerminalRenderer renderer = new TerminalRenderer(System.out, Charset.defaultCharset(), SCREEN_ROWS, SCREEN_COLUMNS);
+        String message = null;
 
-        while (!chessMatch.isCheckMate()) {
+        while (!chessMatch.isCheckMate() && !chessMatch.isStalemate()) {
             try {
-                UI.clearScreen();
-                UI.printMatch(chessMatch, captured);
-                System.out.println();
-                System.out.print("Posição: ");
-                ChessPosition source = UI.readChessPosition(sc);
-
-                boolean[][] possibleMoves = chessMatch.possibleMoves(source);
-                UI.clearScreen();
-                UI.printBoard(chessMatch.getPieces(), possibleMoves);
+                ChessPosition source = readChessPosition(sc, renderer, chessMatch, captured, 0L, "Posição: ", message);
+                message = null;
 
-                System.out.println();
-                System.out.print("Alvo: ");
-                ChessPosition target = UI.readChessPosition(sc);
+                long possibleMoves = chessMatch.possibleMovesMask(source);
+                ChessPosition target = readChessPosition(sc, renderer, chessMatch, captured, possibleMoves, "Alvo: ", null);
 
                 ChessPiece capturedPiece = chessMatch.performChessMove(source, target);
 
@@ -41,22 +84,61 @@ public class Main {
                     captured.add(capturedPiece);
 
                 if (chessMatch.getPromoted() != null) {
-                    System.out.println("Digite para qual peça deseja promover!! (B/C/R/T): ");
-                    String type = sc.nextLine().toUpperCase();
+                    String prompt = "Digite para qual peça deseja promover!! (B/C/R/T): ";
+                    String type = readLine(sc, renderer, chessMatch, captured, 0L, prompt, null).toUpperCase();
                     while (!type.equals("C") && !type.equals("R") && !type.equals("B") && !type.equals("T")) {
-                        System.out.println("Peça invalida!! Digite para qual peça deseja promover!! (B/C/R/T):");
-                        type = sc.nextLine().toUpperCase();
+                        type = readLine(sc, renderer, chessMatch, captured, 0L, prompt, "Peça invalida!!").toUpperCase();
                     }
                     chessMatch.replacePromotedPiece(type);
                 }
             }
 
             catch (ChessException | InputMismatchException e) {
-                System.out.println(e.getMessage());
-                sc.nextLine();
+                message = e.getMessage();
             }
         }
-        UI.clearScreen();
-        UI.printMatch(chessMatch, captured);
+        renderer.clear();
+        BoardView.drawMatch(renderer, chessMatch, captured, 0L);
+        renderer.flush();
+        if (Metrics.isEnabled()) {
+            System.out.println();
+            System.out.print(Metrics.snapshot());
+        }
+    }
+
+    private static ChessPosition readChessPosition(Scanner sc, TerminalRenderer renderer, ChessMatch chessMatch,
+                                                   List<ChessPiece> captured, long highlight, String prompt, String message) {
+        drawPrompt(renderer, chessMatch, captured, highlight, prompt, message);
+        // End of input would otherwise come back as an invalid position forever
+        if (!sc.hasNextLine())
+            throw new NoSuchElementException("Fim da entrada");
+        try {
+            return UI.readChessPosition(sc);
+        }
+        finally {
+            renderer.invalidateRow(PROMPT_ROW);
+            renderer.invalidateRow(PROMPT_ROW + 1);
+        }
+    }
+
+    private static String readLine(Scanner sc, TerminalRenderer renderer, ChessMatch chessMatch, List<ChessPiece> captured,
+                                   long highlight, String prompt, String message) {
+        drawPrompt(renderer, chessMatch, captured, highlight, prompt, message);
+        String line = sc.nextLine();
+        renderer.invalidateRow(PROMPT_ROW);
+        renderer.invalidateRow(PROMPT_ROW + 1);
+        return line;
+    }
+
+    // The terminal echoes what the user types on the prompt row, so that row is repainted in full afterwards
+    private static void drawPrompt(TerminalRenderer renderer, ChessMatch chessMatch, List<ChessPiece> captured,
+                                   long highlight, String prompt, String message) {
+        renderer.clear();
+        BoardView.drawMatch(renderer, chessMatch, captured, highlight);
+        if (message != null)
+            renderer.text(PROMPT_ROW - 1, 0, message, TerminalRenderer.ALERT);
+        int column = renderer.text(PROMPT_ROW, 0, prompt, TerminalRenderer.PLAIN);
+        renderer.setCursor(PROMPT_ROW, column);
+        renderer.flush();
     }
-}
\ No newline at end of file
+}
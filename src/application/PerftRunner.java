@@ -0,0 +1,60 @@
+package application;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.engine.Perft;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class PerftRunner {
+
+    // Uso: perft <profundidade> [divide] [threads=N] [fen <posição FEN>]
+    public static void run(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Uso: perft <profundidade> [divide] [threads=N] [fen <posição FEN>]");
+            return;
+        }
+        int depth = Integer.parseInt(args[1]);
+        boolean divide = false;
+        String fen = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("divide"))
+                divide = true;
+            else if (args[i].startsWith("threads="))
+                threads = Integer.parseInt(args[i].substring("threads=".length()));
+            else if (args[i].equals("fen")) {
+                fen = String.join(" ", Arrays.copyOfRange(args, i + 1, args.length));
+                break;
+            }
+        }
+
+        ChessMatch chessMatch = (fen == null) ? new ChessMatch() : new ChessMatch(fen);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        boolean mismatch = false;
+        try {
+            Perft.Result result = Perft.divide(chessMatch, depth, pool);
+            if (divide) {
+                for (int i = 0; i < result.getMoves().length; i++)
+                    System.out.println(Move.toString(result.getMoves()[i]) + ": " + result.getCounts()[i]);
+                System.out.println();
+            }
+            System.out.println("Profundidade: " + depth);
+            System.out.println("Nós: " + result.getNodes());
+            System.out.printf("Tempo: %.3f s%n", result.getNanos() / 1e9);
+            System.out.println("Nós/s: " + result.getNodesPerSecond());
+            if (fen == null && depth < Perft.INITIAL_POSITION_COUNTS.length) {
+                long expected = Perft.INITIAL_POSITION_COUNTS[depth];
+                mismatch = result.getNodes() != expected;
+                System.out.println(mismatch ? "ERRO: esperado " + expected + " nós" : "Resultado confere com a referência");
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        // Non-zero exit so scripts and CI notice a broken move generator
+        if (mismatch)
+            System.exit(1);
+    }
+}
@@ -0,0 +1,58 @@
+package application;
+
+import chess.metrics.Metrics;
+import chess.pgn.PgnReader;
+import chess.pgn.PgnReplay;
+import chess.pgn.ReplayListener;
+import chess.pgn.ReplayStats;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class PgnRunner {
+
+    // Uso: pgn <arquivo> [threads=N]
+    public static void run(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Uso: pgn <arquivo> [threads=N]");
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("threads="))
+                threads = Integer.parseInt(args[i].substring("threads=".length()));
+        }
+
+        PgnReplay replay = new PgnReplay(threads, new ReplayListener() { });
+        long start = System.nanoTime();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+        progress.scheduleAtFixedRate(() -> {
+            long games = replay.getGames();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d jogos (%.0f jogos/s)%n", games, games / seconds);
+        }, 5, 5, TimeUnit.SECONDS);
+
+        try (PgnReader reader = PgnReader.open(Paths.get(args[1]))) {
+            ReplayStats stats = replay.run(reader);
+            System.out.println(stats);
+            if (Metrics.isEnabled())
+                System.out.print(Metrics.snapshot());
+        }
+        catch (IOException e) {
+            System.out.println("Erro ao ler " + args[1] + ": " + e.getMessage());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            progress.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package application;
+
+import chess.server.GameServer;
+import chess.server.LoadGenerator;
+import chess.server.LoadReport;
+
+import java.io.IOException;
+
+public class ServerRunner {
+
+    private static final String USAGE = "Uso: server [port=N] | server load [host=H] [port=N] [clients=N] [seconds=N]"
+            + " | server bench [clients=N] [seconds=N]";
+    private static final int DEFAULT_PORT = 7878;
+
+    public static void run(String[] args) {
+        String mode = args.length > 1 && !args[1].contains("=") ? args[1] : "serve";
+        String host = option(args, "host", "localhost");
+        int port = Integer.parseInt(option(args, "port", String.valueOf(DEFAULT_PORT)));
+        int clients = Integer.parseInt(option(args, "clients", "100"));
+        int seconds = Integer.parseInt(option(args, "seconds", "10"));
+        try {
+            switch (mode) {
+                case "serve":
+                    serve(port);
+                    break;
+                case "load":
+                    report(new LoadGenerator(host, port, clients).run(seconds * 1000L));
+                    break;
+                case "bench":
+                    // Server and clients in the same JVM on a free port
+                    try (GameServer server = new GameServer(0)) {
+                        report(new LoadGenerator("localhost", server.getPort(), clients).run(seconds * 1000L));
+                        System.out.printf("Servidor: %d conexões, %d lances%n", server.getClientCount(), server.getMoveCount());
+                    }
+                    break;
+                default:
+                    System.out.println(USAGE);
+            }
+        }
+        catch (IOException e) {
+            System.out.println("Erro de E/S: " + e.getMessage());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Runs until standard input is closed or a line is entered
+    private static void serve(int port) throws IOException {
+        try (GameServer server = new GameServer(port)) {
+            System.out.println("Servidor escutando na porta " + server.getPort() + " (Enter encerra)");
+            System.in.read();
+            System.out.printf("%d conexões, %d partidas abertas, %d lances%n", server.getClientCount(),
+                    server.getMatchCount(), server.getMoveCount());
+        }
+    }
+
+    private static void report(LoadReport report) {
+        System.out.println(report);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "="))
+                return arg.substring(name.length() + 1);
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,78 @@
+package application;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Move;
+import chess.tablebase.EndgameTable;
+import chess.tablebase.TablebaseResult;
+import chess.tablebase.Tablebases;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class TablebaseRunner {
+
+    private static final String USAGE = "Uso: tablebase generate <diretório> <material...> [threads=N]"
+            + " | tablebase probe <diretório> <posição FEN>";
+
+    public static void run(String[] args) {
+        if (args.length < 4) {
+            System.out.println(USAGE);
+            return;
+        }
+        Path directory = Paths.get(args[2]);
+        try {
+            if (args[1].equals("generate"))
+                generate(directory, Arrays.copyOfRange(args, 3, args.length));
+            else if (args[1].equals("probe"))
+                probe(directory, String.join(" ", Arrays.copyOfRange(args, 3, args.length)));
+            else
+                System.out.println(USAGE);
+        }
+        catch (ChessException e) {
+            System.out.println(e.getMessage());
+        }
+        catch (IOException e) {
+            System.out.println("Erro de E/S: " + e.getMessage());
+        }
+    }
+
+    private static void generate(Path directory, String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            if (arg.startsWith("threads="))
+                threads = Integer.parseInt(arg.substring("threads=".length()));
+        }
+        Tablebases tablebases = new Tablebases();
+        long start = System.nanoTime();
+        for (String arg : args) {
+            if (!arg.startsWith("threads="))
+                tablebases.generate(arg, threads);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        tablebases.save(directory);
+        for (EndgameTable table : tablebases.getTables())
+            System.out.printf("%-6s %,d posições%n", table.getMaterial(), table.size());
+        System.out.printf("%d tabelas geradas em %.3f s com %d threads%n", tablebases.getTables().size(), seconds, threads);
+    }
+
+    private static void probe(Path directory, String fen) throws IOException {
+        Tablebases tablebases = new Tablebases();
+        int loaded = tablebases.load(directory);
+        ChessMatch match = new ChessMatch(fen);
+        long start = System.nanoTime();
+        TablebaseResult result = tablebases.probe(match);
+        long nanos = System.nanoTime() - start;
+        if (result == null) {
+            System.out.println("Posição fora das " + loaded + " tabelas carregadas");
+            return;
+        }
+        System.out.println(result);
+        int move = tablebases.bestMove(match);
+        if (move != Move.NONE)
+            System.out.println("Melhor lance: " + Move.toString(move));
+        System.out.printf("Consulta em %d µs%n", nanos / 1000);
+    }
+}
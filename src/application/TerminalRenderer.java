@@ -0,0 +1,174 @@
+package application;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+// Double-buffered ANSI screen. Each frame is drawn into the back buffer; flush() compares it with what
+// the terminal already shows and writes only the cells that changed, with cursor addressing and color
+// codes only where needed, as one write. Nothing is cleared or redrawn between frames, so there is no flicker
+public class TerminalRenderer {
+
+    public static final int PLAIN = 0;
+    public static final int WHITE_PIECE = 1;
+    public static final int BLACK_PIECE = 2;
+    public static final int HIGHLIGHT = 3;
+    public static final int WHITE_PIECE_HIGHLIGHT = 4;
+    public static final int BLACK_PIECE_HIGHLIGHT = 5;
+    public static final int ALERT = 6;
+
+    private static final String[] STYLES = {
+            UI.ANSI_RESET,
+            UI.ANSI_RESET + UI.ANSI_YELLOW,
+            UI.ANSI_RESET + UI.ANSI_PURPLE,
+            UI.ANSI_RESET + UI.ANSI_GREEN_BACKGROUND,
+            UI.ANSI_RESET + UI.ANSI_YELLOW + UI.ANSI_GREEN_BACKGROUND,
+            UI.ANSI_RESET + UI.ANSI_PURPLE + UI.ANSI_GREEN_BACKGROUND,
+            UI.ANSI_RESET + UI.ANSI_RED
+    };
+    // Front buffer value for cells whose terminal content is unknown
+    private static final char UNKNOWN = '\0';
+
+    private final OutputStream out;
+    private final CharsetEncoder encoder;
+    private final int rows;
+    private final int columns;
+    private final char[] chars;
+    private final byte[] styles;
+    private final char[] shownChars;
+    private final byte[] shownStyles;
+    private final StringBuilder escapes = new StringBuilder(4096);
+    private ByteBuffer bytes = ByteBuffer.allocate(16384);
+    private boolean cleared;
+    private int cursorRow = -1;
+    private int cursorColumn;
+    private long bytesWritten;
+
+    public TerminalRenderer(OutputStream out, Charset charset, int rows, int columns) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.rows = rows;
+        this.columns = columns;
+        chars = new char[rows * columns];
+        styles = new byte[rows * columns];
+        shownChars = new char[rows * columns];
+        shownStyles = new byte[rows * columns];
+        invalidate();
+        clear();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    // Total bytes sent to the terminal so far
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // Starts a new frame with every cell blank
+    public void clear() {
+        Arrays.fill(chars, ' ');
+        Arrays.fill(styles, (byte) PLAIN);
+        cursorRow = -1;
+    }
+
+    // Cells outside the screen are ignored
+    public void put(int row, int column, char c, int style) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns)
+            return;
+        chars[row * columns + column] = c;
+        styles[row * columns + column] = (byte) style;
+    }
+
+    // Returns the column after the text
+    public int text(int row, int column, String text, int style) {
+        for (int i = 0; i < text.length(); i++)
+            put(row, column + i, text.charAt(i), style);
+        return column + text.length();
+    }
+
+    // Where the cursor is left after flush, e.g. at the end of a prompt; by default below the frame
+    public void setCursor(int row, int column) {
+        cursorRow = row;
+        cursorColumn = column;
+    }
+
+    // Forgets what the terminal shows on a row, e.g. after the user typed over it; it is fully redrawn next flush
+    public void invalidateRow(int row) {
+        if (row >= 0 && row < rows)
+            Arrays.fill(shownChars, row * columns, (row + 1) * columns, UNKNOWN);
+    }
+
+    public void invalidate() {
+        Arrays.fill(shownChars, UNKNOWN);
+        cleared = false;
+    }
+
+    public void flush() {
+        escapes.setLength(0);
+        if (!cleared) {
+            escapes.append("\033[H\033[2J");
+            cleared = true;
+        }
+        int style = -1;
+        int nextCell = -1;
+        for (int cell = 0; cell < chars.length; cell++) {
+            if (chars[cell] == shownChars[cell] && styles[cell] == shownStyles[cell])
+                continue;
+            // Contiguous changed cells are written without moving the cursor again
+            if (cell != nextCell || cell % columns == 0)
+                escapes.append("\033[").append(cell / columns + 1).append(';').append(cell % columns + 1).append('H');
+            if (styles[cell] != style) {
+                style = styles[cell];
+                escapes.append(STYLES[style]);
+            }
+            escapes.append(chars[cell]);
+            shownChars[cell] = chars[cell];
+            shownStyles[cell] = styles[cell];
+            nextCell = cell + 1;
+        }
+        if (style != -1 && style != PLAIN)
+            escapes.append(UI.ANSI_RESET);
+        int row = cursorRow >= 0 ? cursorRow : rows;
+        int column = cursorRow >= 0 ? cursorColumn : 0;
+        escapes.append("\033[").append(row + 1).append(';').append(column + 1).append('H');
+        write();
+    }
+
+    private void write() {
+        CharBuffer source = CharBuffer.wrap(escapes);
+        encoder.reset();
+        bytes.clear();
+        CoderResult result = encoder.encode(source, bytes, true);
+        while (result.isOverflow() || (result = encoder.flush(bytes)).isOverflow()) {
+            // The buffer only grows, so a full redraw pays for it once
+            ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+            bytes.flip();
+            larger.put(bytes);
+            bytes = larger;
+            result = encoder.encode(source, bytes, true);
+        }
+        try {
+            out.write(bytes.array(), 0, bytes.position());
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bytesWritten += bytes.position();
+    }
+}
@@ -1,15 +1,9 @@
 package application;
 
-import chess.ChessMatch;
-import chess.ChessPiece;
 import chess.ChessPosition;
-import chess.Color;
 
-import java.util.Arrays;
 import java.util.InputMismatchException;
-import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
 
 public class UI {
 
@@ -32,11 +26,6 @@ public class UI {
     public static final String ANSI_CYAN_BACKGROUND = "\u001B[46m";
     public static final String ANSI_WHITE_BACKGROUND = "\u001B[47m";
 
-    public static void clearScreen() {
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
-    }
-
     public static ChessPosition readChessPosition(Scanner sc){
         try {
             String p = sc.nextLine();
@@ -48,77 +37,4 @@ public class UI {
             throw new InputMismatchException("Erro ao instanciar posição, valores validos são de a1 a h8!");
         }
     }
-
-    public static void printBoard(ChessPiece[][] pieces) {
-        for (int i = 0; i < pieces.length; i++) {
-            System.out.print((8 - i) + " ");
-            for (int j = 0; j < pieces.length; j++) {
-                printPiece(pieces[i][j], false);
-            }
-            System.out.println();
-        }
-        System.out.println("  A B C D E F G H");
-    }
-
-    public static void printMatch(ChessMatch chessMatch, List<ChessPiece> captured) {
-        printBoard(chessMatch.getPieces());
-        System.out.println();
-        printCapturedPieces(captured);
-        System.out.println();
-        System.out.println("Turno: " + chessMatch.getTurn());
-        String color = (chessMatch.getCurrentPlayer() == Color.WHITE) ? "brancas" : "pretas";
-        System.out.println("Movimento atual: Peças " + color);
-        if (!chessMatch.isCheckMate()) {
-            if (chessMatch.isCheck())
-                System.out.println("CHECK!");
-        }
-        else {
-            System.out.println("CHECKMATE!");
-            String winner = (chessMatch.getCurrentPlayer() == Color.WHITE) ? "Peças brancas" : "Peças pretas";
-            System.out.println(winner + " venceram");
-        }
-    }
-
-    public static void printBoard(ChessPiece[][] pieces, boolean[][] possibleMoves) {
-        for (int i = 0; i < pieces.length; i++) {
-            System.out.print((8 - i) + " ");
-            for (int j = 0; j < pieces.length; j++) {
-                printPiece(pieces[i][j], possibleMoves[i][j]);
-            }
-            System.out.println();
-        }
-        System.out.println("  A B C D E F G H");
-    }
-
-    private static void printPiece(ChessPiece piece, boolean background) {
-        if (background) {
-            System.out.print(ANSI_GREEN_BACKGROUND);
-        }
-        if (piece == null) {
-            System.out.print("-" + ANSI_RESET);
-        }
-        else {
-            if (piece.getColor() == Color.WHITE) {
-                System.out.print(ANSI_YELLOW + piece + ANSI_RESET);
-            }
-            else {
-                System.out.print(ANSI_PURPLE + piece + ANSI_RESET);
-            }
-        }
-        System.out.print(" ");
-    }
-
-    private static void printCapturedPieces(List<ChessPiece> captured) {
-        List<ChessPiece> white = captured.stream().filter(x -> x.getColor() == Color.WHITE).toList();
-        List<ChessPiece> black = captured.stream().filter(x -> x.getColor() == Color.BLACK).toList();
-        System.out.println("Peças capturadas: ");
-        System.out.print("Brancas: ");
-        System.out.print(ANSI_YELLOW);
-        System.out.println(Arrays.toString(white.toArray()));
-        System.out.print(ANSI_RESET);
-        System.out.print("Pretas: ");
-        System.out.print(ANSI_PURPLE);
-        System.out.println(Arrays.toString(black.toArray()));
-        System.out.print(ANSI_RESET);
-    }
 }
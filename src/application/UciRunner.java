@@ -0,0 +1,344 @@
+package application;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Color;
+import chess.Move;
+import chess.engine.ParallelSearch;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+import chess.tablebase.Tablebases;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Universal Chess Interface over standard input and output. The search runs on its own thread so
+// "stop", "isready" and "quit" are answered while it thinks; "position" commands that extend the
+// previous one only play the new moves on the kept ChessMatch
+public class UciRunner {
+
+    private static final String NAME = "xadrez-java";
+    private static final int DEFAULT_HASH_MB = 64;
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long MOVE_OVERHEAD_MILLIS = 50L;
+
+    private final PrintStream out;
+    private final int[] scratch = new int[ChessMatch.MAX_MOVES];
+
+    private int hashMb = DEFAULT_HASH_MB;
+    private int threads = 1;
+    private Tablebases tablebases;
+    private ParallelSearch search;
+
+    private ChessMatch match = new ChessMatch();
+    private String base = "startpos";
+    private final List<String> moves = new ArrayList<>();
+
+    private Thread searchThread;
+    private boolean infinite;
+    private boolean stopRequested;
+
+    public UciRunner(PrintStream out) {
+        this.out = out;
+    }
+
+    public static void run(String[] args) {
+        UciRunner uci = new UciRunner(System.out);
+        try {
+            uci.loop(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+        }
+        catch (IOException e) {
+            System.err.println("Erro de E/S: " + e.getMessage());
+        }
+    }
+
+    public void loop(BufferedReader in) throws IOException {
+        String line;
+        try {
+            while ((line = in.readLine()) != null) {
+                if (!execute(line.trim()))
+                    break;
+            }
+        }
+        finally {
+            stopSearch();
+            if (search != null)
+                search.close();
+        }
+    }
+
+    // Returns false on "quit"
+    public boolean execute(String line) {
+        String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + NAME);
+                send("id author xadrez-java");
+                send("option name Hash type spin default " + DEFAULT_HASH_MB + " min 1 max 4096");
+                send("option name Threads type spin default 1 min 1 max 256");
+                send("option name TablebasePath type string default <empty>");
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "setoption":
+                stopSearch();
+                setOption(tokens);
+                break;
+            case "ucinewgame":
+                stopSearch();
+                if (search != null)
+                    search.clearHash();
+                setPosition("startpos", new ArrayList<>());
+                break;
+            case "position":
+                stopSearch();
+                position(tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                if (!tokens[0].isEmpty())
+                    send("info string Comando desconhecido: " + tokens[0]);
+        }
+        return true;
+    }
+
+    private void setOption(String[] tokens) {
+        int name = indexOf(tokens, "name");
+        int value = indexOf(tokens, "value");
+        if (name < 0)
+            return;
+        String option = String.join(" ", Arrays.copyOfRange(tokens, name + 1, value < 0 ? tokens.length : value));
+        String argument = value < 0 ? "" : String.join(" ", Arrays.copyOfRange(tokens, value + 1, tokens.length));
+        try {
+            switch (option.toLowerCase()) {
+                case "hash":
+                    hashMb = Math.max(1, Integer.parseInt(argument));
+                    closeSearch();
+                    break;
+                case "threads":
+                    threads = Math.max(1, Integer.parseInt(argument));
+                    closeSearch();
+                    break;
+                case "tablebasepath":
+                    Tablebases loaded = null;
+                    if (!argument.isEmpty() && !argument.equals("<empty>")) {
+                        loaded = new Tablebases();
+                        send("info string " + loaded.load(Paths.get(argument)) + " tabelas carregadas");
+                    }
+                    tablebases = loaded;
+                    if (search != null)
+                        search.setTablebases(tablebases);
+                    break;
+                default:
+                    send("info string Opção desconhecida: " + option);
+            }
+        }
+        catch (NumberFormatException | IOException e) {
+            send("info string Valor inválido para " + option + ": " + argument);
+        }
+        catch (ChessException e) {
+            send("info string " + e.getMessage());
+        }
+    }
+
+    private void position(String[] tokens) {
+        int movesAt = indexOf(tokens, "moves");
+        int end = movesAt < 0 ? tokens.length : movesAt;
+        String newBase;
+        if (tokens.length > 1 && tokens[1].equals("startpos"))
+            newBase = "startpos";
+        else if (tokens.length > 2 && tokens[1].equals("fen"))
+            newBase = String.join(" ", Arrays.copyOfRange(tokens, 2, end));
+        else {
+            send("info string Posição inválida");
+            return;
+        }
+        List<String> newMoves = movesAt < 0 ? new ArrayList<>()
+                : new ArrayList<>(Arrays.asList(tokens).subList(movesAt + 1, tokens.length));
+        try {
+            setPosition(newBase, newMoves);
+        }
+        catch (ChessException e) {
+            send("info string " + e.getMessage());
+            setPosition("startpos", new ArrayList<>());
+        }
+    }
+
+    // GUIs resend the whole game on every move; when it only extends what is on the board, just the tail is played
+    private void setPosition(String newBase, List<String> newMoves) {
+        boolean extendsCurrent = newBase.equals(base) && newMoves.size() >= moves.size()
+                && newMoves.subList(0, moves.size()).equals(moves);
+        if (!extendsCurrent) {
+            match = newBase.equals("startpos") ? new ChessMatch() : new ChessMatch(newBase);
+            base = newBase;
+            moves.clear();
+        }
+        for (int i = moves.size(); i < newMoves.size(); i++) {
+            int move = parseMove(newMoves.get(i));
+            if (move == Move.NONE)
+                throw new ChessException("Lance inválido: " + newMoves.get(i));
+            match.makeMove(move);
+            moves.add(newMoves.get(i));
+        }
+    }
+
+    private int parseMove(String text) {
+        int count = match.legalMoves(scratch);
+        for (int i = 0; i < count; i++) {
+            if (Move.toString(scratch[i]).equals(text))
+                return scratch[i];
+        }
+        return Move.NONE;
+    }
+
+    private void go(String[] tokens) {
+        int depth = SearchLimits.MAX_DEPTH;
+        long moveTime = 0L;
+        long nodes = 0L;
+        long[] clock = new long[2];
+        long[] increment = new long[2];
+        int movesToGo = 0;
+        boolean infinite = false;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                String value = i + 1 < tokens.length ? tokens[i + 1] : "0";
+                switch (tokens[i]) {
+                    case "depth": depth = Integer.parseInt(value); i++; break;
+                    case "movetime": moveTime = Long.parseLong(value); i++; break;
+                    case "nodes": nodes = Long.parseLong(value); i++; break;
+                    case "wtime": clock[Color.WHITE.ordinal()] = Long.parseLong(value); i++; break;
+                    case "btime": clock[Color.BLACK.ordinal()] = Long.parseLong(value); i++; break;
+                    case "winc": increment[Color.WHITE.ordinal()] = Long.parseLong(value); i++; break;
+                    case "binc": increment[Color.BLACK.ordinal()] = Long.parseLong(value); i++; break;
+                    case "movestogo": movesToGo = Integer.parseInt(value); i++; break;
+                    case "infinite": infinite = true; break;
+                    default: break;
+                }
+            }
+        }
+        catch (NumberFormatException e) {
+            send("info string Parâmetro inválido em go");
+            return;
+        }
+
+        int side = match.getCurrentPlayer().ordinal();
+        if (moveTime == 0L && !infinite && clock[side] > 0L)
+            moveTime = allocateTime(clock[side], increment[side], movesToGo);
+        SearchLimits limits = new SearchLimits(Math.max(1, depth), moveTime, nodes);
+        startSearch(limits, infinite);
+    }
+
+    // An even share of the clock plus most of the increment, never closer than the overhead to the flag
+    private static long allocateTime(long clock, long increment, int movesToGo) {
+        long share = clock / (movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO) + increment * 3 / 4;
+        return Math.max(1L, Math.min(share, clock - MOVE_OVERHEAD_MILLIS));
+    }
+
+    private void startSearch(SearchLimits limits, boolean infinite) {
+        if (search == null) {
+            search = new ParallelSearch(new TranspositionTable(hashMb), threads);
+            search.setTablebases(tablebases);
+            search.setListener(this::info);
+        }
+        ParallelSearch engine = search;
+        ChessMatch position = new ChessMatch(match);
+        // Here rather than on the search thread, so a "stop" read before that thread starts is kept
+        engine.prepare();
+        synchronized (this) {
+            this.infinite = infinite;
+            stopRequested = false;
+        }
+        searchThread = new Thread(() -> {
+            SearchResult result = engine.search(position, limits);
+            // "go infinite" must not answer before "stop", even when the search ends on its own
+            synchronized (this) {
+                while (this.infinite && !stopRequested) {
+                    try {
+                        wait();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            int best = result.getBestMove();
+            send("bestmove " + (best == Move.NONE ? "0000" : Move.toString(best)));
+        }, "uci-search");
+        searchThread.start();
+    }
+
+    // Stops a running search and waits for its bestmove to be sent
+    private void stopSearch() {
+        if (searchThread == null)
+            return;
+        search.stop();
+        synchronized (this) {
+            stopRequested = true;
+            notifyAll();
+        }
+        try {
+            searchThread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    private void closeSearch() {
+        if (search != null) {
+            search.close();
+            search = null;
+        }
+    }
+
+    private void info(SearchResult result) {
+        long millis = result.getNanos() / 1_000_000L;
+        StringBuilder sb = new StringBuilder("info depth ").append(result.getDepth());
+        if (Search.isMateScore(result.getScore()))
+            sb.append(" score mate ").append(Search.mateInMoves(result.getScore()));
+        else
+            sb.append(" score cp ").append(result.getScore());
+        sb.append(" nodes ").append(result.getNodes())
+                .append(" nps ").append(result.getNodes() * 1000L / Math.max(1L, millis))
+                .append(" time ").append(millis)
+                .append(" hashfull ").append(search.hashfull())
+                .append(" pv");
+        for (int move : result.getPrincipalVariation())
+            sb.append(' ').append(Move.toString(move));
+        send(sb.toString());
+    }
+
+    private synchronized void send(String line) {
+        out.println(line);
+        out.flush();
+    }
+
+    private static int indexOf(String[] tokens, String token) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(token))
+                return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,122 @@
+package application;
+
+import chess.ChessMatch;
+import chess.Fen;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Spectator view: plays random games on several boards at once and shows them side by side,
+// repainting only the squares that changed since the previous frame
+public class WatchRunner {
+
+    private static final String USAGE = "Uso: watch [boards=N] [columns=N] [seconds=N] [interval=ms]";
+    private static final int MAX_PLIES = 300;
+    // Frames a finished game stays on screen before a new one starts on that board
+    private static final int FINAL_FRAMES = 10;
+
+    public static void run(String[] args) {
+        int boards = 6;
+        int columns = 3;
+        int seconds = 10;
+        int interval = 100;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("boards="))
+                boards = Integer.parseInt(args[i].substring("boards=".length()));
+            else if (args[i].startsWith("columns="))
+                columns = Integer.parseInt(args[i].substring("columns=".length()));
+            else if (args[i].startsWith("seconds="))
+                seconds = Integer.parseInt(args[i].substring("seconds=".length()));
+            else if (args[i].startsWith("interval="))
+                interval = Integer.parseInt(args[i].substring("interval=".length()));
+            else {
+                System.out.println(USAGE);
+                return;
+            }
+        }
+        columns = Math.max(1, Math.min(columns, boards));
+
+        int rows = BoardView.gridRows(boards, columns) + 1;
+        int width = columns * BoardView.CELL_COLUMNS;
+        TerminalRenderer renderer = new TerminalRenderer(System.out, Charset.defaultCharset(), rows, width);
+        // Same frames repainted in full every time, only to count what a clear-and-redraw screen would cost
+        TerminalRenderer fullRedraw = new TerminalRenderer(OutputStream.nullOutputStream(), Charset.defaultCharset(), rows, width);
+
+        Random random = new Random(1);
+        int[] legal = new int[ChessMatch.MAX_MOVES];
+        List<ChessMatch> matches = new ArrayList<>(boards);
+        List<String> titles = new ArrayList<>(boards);
+        List<String> statuses = new ArrayList<>(boards);
+        int[] games = new int[boards];
+        int[] plies = new int[boards];
+        int[] finished = new int[boards];
+        for (int i = 0; i < boards; i++) {
+            matches.add(new ChessMatch());
+            titles.add("");
+            statuses.add("");
+            games[i] = 1;
+        }
+
+        long frames = 0;
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        try {
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < boards; i++) {
+                    ChessMatch match = matches.get(i);
+                    if (finished[i] > 0) {
+                        if (--finished[i] == 0) {
+                            match.load(Fen.INITIAL_POSITION);
+                            games[i]++;
+                            plies[i] = 0;
+                            statuses.set(i, "");
+                        }
+                    }
+                    else {
+                        int moves = match.legalMoves(legal);
+                        if (moves == 0 || plies[i] == MAX_PLIES) {
+                            statuses.set(i, status(match, moves));
+                            finished[i] = FINAL_FRAMES;
+                        }
+                        else {
+                            match.makeMove(legal[random.nextInt(moves)]);
+                            plies[i]++;
+                            statuses.set(i, match.testCheck(match.getCurrentPlayer()) ? "CHECK!" : "");
+                        }
+                    }
+                    titles.set(i, "#" + (i + 1) + " jogo " + games[i] + " lance " + (plies[i] / 2 + 1));
+                }
+                draw(renderer, matches, titles, statuses, columns, rows);
+                draw(fullRedraw, matches, titles, statuses, columns, rows);
+                fullRedraw.invalidate();
+                frames++;
+                Thread.sleep(interval);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        System.out.printf("%d quadros, %,d bytes enviados (redesenho completo: %,d bytes, %.1f%%)%n", frames,
+                renderer.getBytesWritten(), fullRedraw.getBytesWritten(),
+                100.0 * renderer.getBytesWritten() / Math.max(1L, fullRedraw.getBytesWritten()));
+    }
+
+    private static void draw(TerminalRenderer renderer, List<ChessMatch> matches, List<String> titles,
+                             List<String> statuses, int columns, int rows) {
+        renderer.clear();
+        BoardView.drawGrid(renderer, matches, titles, statuses, columns);
+        renderer.setCursor(rows - 1, 0);
+        renderer.flush();
+    }
+
+    private static String status(ChessMatch match, int moves) {
+        if (moves > 0)
+            return "EMPATE (limite de lances)";
+        if (!match.testCheck(match.getCurrentPlayer()))
+            return "EMPATE POR AFOGAMENTO!";
+        return "CHECKMATE!";
+    }
+}
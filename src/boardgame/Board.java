@@ -4,14 +4,14 @@ public class Board {
 
     private int rows;
     private int columns;
-    private Piece[][] pieces;
+    private Piece[] pieces;
 
     public Board(int rows, int columns) {
         if (rows < 1 || columns < 1)
             throw new BoardException("Erro ao criar tabuleiro: tem que existir ao menos uma linha e uma coluna!");
         this.rows = rows;
         this.columns = columns;
-        pieces = new Piece[rows][columns];
+        pieces = new Piece[rows * columns];
     }
 
     public int getRows() {
@@ -25,19 +25,19 @@ public class Board {
     public Piece piece(int row, int column){
         if (!positionExists(row, column))
             throw new BoardException("Posição não existente!");
-        return pieces[row][column];
+        return pieces[row * columns + column];
     }
 
     public Piece piece(Position position){
         if (!positionExists(position))
             throw new BoardException("Posição não existente!");
-        return pieces[position.getRow()][position.getColumn()];
+        return pieces[position.getRow() * columns + position.getColumn()];
     }
 
     public void placePiece(Piece piece, Position position) {
         if (thereIsAPiece(position))
             throw new BoardException("Já existe uma peça nessa posição!");
-        pieces[position.getRow()][position.getColumn()] = piece;
+        pieces[position.getRow() * columns + position.getColumn()] = piece;
         piece.position = position;
     }
 
@@ -48,7 +48,7 @@ public class Board {
             return null;
         Piece aux = piece(position);
         aux.position = null;
-        pieces[position.getRow()][position.getColumn()] = null;
+        pieces[position.getRow() * columns + position.getColumn()] = null;
         return aux;
     }
 
@@ -0,0 +1,217 @@
+package chess;
+
+public final class Attacks {
+
+    private static final int[][] KNIGHT_OFFSETS = {
+            {-1, 2}, {-1, -2}, {1, 2}, {1, -2},
+            {-2, 1}, {-2, -1}, {2, 1}, {2, -1}
+    };
+    private static final int[][] KING_OFFSETS = {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1},
+            {0, 1}, {1, -1}, {1, 0}, {1, 1}
+    };
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private Attacks() {
+    }
+
+    public static long knight(int square) {
+        return Leapers.KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return Leapers.KING[square];
+    }
+
+    // Squares attacked by a pawn of the given color standing on square
+    public static long pawn(Color color, int square) {
+        return Leapers.PAWN[color.ordinal()][square];
+    }
+
+    public static long rook(int square, long occupied) {
+        return Sliders.ROOK.attacks(square, occupied);
+    }
+
+    public static long bishop(int square, long occupied) {
+        return Sliders.BISHOP.attacks(square, occupied);
+    }
+
+    public static long queen(int square, long occupied) {
+        return Sliders.ROOK.attacks(square, occupied) | Sliders.BISHOP.attacks(square, occupied);
+    }
+
+    // Squares strictly between two squares on a shared rank, file or diagonal; empty otherwise
+    public static long between(int from, int to) {
+        return Lines.BETWEEN[from * ChessBoard.SQUARES + to];
+    }
+
+    // The whole rank, file or diagonal through both squares; empty if they are not aligned
+    public static long line(int from, int to) {
+        return Lines.LINE[from * ChessBoard.SQUARES + to];
+    }
+
+    private static boolean onBoard(int row, int column) {
+        return row >= 0 && row < ChessBoard.SIZE && column >= 0 && column < ChessBoard.SIZE;
+    }
+
+    private static long[] stepTable(int[][] offsets) {
+        long[] table = new long[ChessBoard.SQUARES];
+        for (int square = 0; square < ChessBoard.SQUARES; square++) {
+            for (int[] offset : offsets) {
+                int row = (square >>> 3) + offset[0];
+                int column = (square & 7) + offset[1];
+                if (onBoard(row, column))
+                    table[square] |= ChessBoard.bit(ChessBoard.square(row, column));
+            }
+        }
+        return table;
+    }
+
+    private static long slidingAttacks(int[][] directions, int square, long occupied) {
+        long attacks = 0L;
+        for (int[] d : directions) {
+            int row = (square >>> 3) + d[0];
+            int column = (square & 7) + d[1];
+            while (onBoard(row, column)) {
+                long b = ChessBoard.bit(ChessBoard.square(row, column));
+                attacks |= b;
+                if ((occupied & b) != 0)
+                    break;
+                row += d[0];
+                column += d[1];
+            }
+        }
+        return attacks;
+    }
+
+    // Squares whose occupancy can change the attack set: each ray minus its last square
+    private static long relevantMask(int[][] directions, int square) {
+        long mask = 0L;
+        for (int[] d : directions) {
+            int row = (square >>> 3) + d[0];
+            int column = (square & 7) + d[1];
+            while (onBoard(row + d[0], column + d[1])) {
+                mask |= ChessBoard.bit(ChessBoard.square(row, column));
+                row += d[0];
+                column += d[1];
+            }
+        }
+        return mask;
+    }
+
+    private static final class Leapers {
+
+        static final long[] KNIGHT = stepTable(KNIGHT_OFFSETS);
+        static final long[] KING = stepTable(KING_OFFSETS);
+        static final long[][] PAWN = {
+                stepTable(new int[][]{{1, -1}, {1, 1}}),
+                stepTable(new int[][]{{-1, -1}, {-1, 1}})
+        };
+    }
+
+    private static final class Sliders {
+
+        static final Magics ROOK = new Magics(ROOK_DIRECTIONS, ROOK_MAGICS);
+        static final Magics BISHOP = new Magics(BISHOP_DIRECTIONS, BISHOP_MAGICS);
+    }
+
+    private static final class Lines {
+
+        static final long[] BETWEEN = new long[ChessBoard.SQUARES * ChessBoard.SQUARES];
+        static final long[] LINE = new long[ChessBoard.SQUARES * ChessBoard.SQUARES];
+
+        static {
+            for (int from = 0; from < ChessBoard.SQUARES; from++) {
+                for (int to = 0; to < ChessBoard.SQUARES; to++) {
+                    if (from != to) {
+                        fill(ROOK_DIRECTIONS, from, to);
+                        fill(BISHOP_DIRECTIONS, from, to);
+                    }
+                }
+            }
+        }
+
+        private static void fill(int[][] directions, int from, int to) {
+            long fromBit = ChessBoard.bit(from);
+            long toBit = ChessBoard.bit(to);
+            if ((slidingAttacks(directions, from, 0L) & toBit) == 0)
+                return;
+            int index = from * ChessBoard.SQUARES + to;
+            BETWEEN[index] = slidingAttacks(directions, from, toBit) & slidingAttacks(directions, to, fromBit);
+            LINE[index] = (slidingAttacks(directions, from, 0L) & slidingAttacks(directions, to, 0L)) | fromBit | toBit;
+        }
+    }
+
+    // Fancy magic bitboards, found offline by a seeded sparse-random search over this square layout
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0442000A00049020L, 0x2100040080020080L, 0x0800120400900148L, 0x0010040A00128541L,
+            0x2800804000800030L, 0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+            0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L, 0x0182085882000401L,
+            0x0220204000808000L, 0x2860100040024022L, 0x0001002004110040L, 0x99101042000A0020L,
+            0x0004080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x2048017020910100L, 0x0044410424008008L, 0x040828A400900000L, 0x8002209200022000L,
+            0x0002021000540002L, 0x0021018840000000L, 0x00009E8420204002L, 0x00A0920110084480L,
+            0x4003062018010110L, 0x0221046812004E09L, 0x01E11002958912A0L, 0x0000044410804000L,
+            0x0000821210000080L, 0x080201102210A800L, 0x0080040411045004L, 0x00704A1842021000L,
+            0x1005061070322800L, 0x0018001010410444L, 0x0010000800401420L, 0x2204002844000800L,
+            0x2052020412022280L, 0x000A020101008208L, 0x0040400201042000L, 0x03E1082040480410L,
+            0x1004200004208414L, 0x08700400984808C8L, 0x0088080004004410L, 0x008C0240140100A2L,
+            0x0008840001822000L, 0x0050088001080100L, 0x98140840040A2200L, 0x3002020900210110L,
+            0x1004040640206000L, 0x1090909000840400L, 0x9002444810100020L, 0x4000020080080080L,
+            0x0028020400011010L, 0x0290808300020100L, 0x8010020882004410L, 0x0604010040082C20L,
+            0x20040104C0801008L, 0x6004208424001050L, 0x1002840041000800L, 0x0200042018000102L,
+            0xA8002000A0821C00L, 0x0040080802201910L, 0x0222620444000100L, 0x0002080041020088L,
+            0x1500820110401050L, 0x0000492090100080L, 0x0900410041100000L, 0x0302000420880000L,
+            0x0010501202020020L, 0x0008200490049040L, 0x0462080214A40120L, 0x2421310102008100L,
+            0x2400420080884060L, 0x0800804406184208L, 0x0B0080124A084400L, 0x082E082300840412L,
+            0x6051049040082200L, 0xC610211002102101L, 0x0000048808010433L, 0x0010200804405440L
+    };
+
+    private static final class Magics {
+
+        private final long[] masks = new long[ChessBoard.SQUARES];
+        private final long[] magics;
+        private final int[] shifts = new int[ChessBoard.SQUARES];
+        private final int[] offsets = new int[ChessBoard.SQUARES];
+        private final long[] table;
+
+        Magics(int[][] directions, long[] magics) {
+            this.magics = magics;
+            int size = 0;
+            for (int square = 0; square < ChessBoard.SQUARES; square++) {
+                masks[square] = relevantMask(directions, square);
+                shifts[square] = 64 - Long.bitCount(masks[square]);
+                offsets[square] = size;
+                size += 1 << Long.bitCount(masks[square]);
+            }
+            table = new long[size];
+
+            for (int square = 0; square < ChessBoard.SQUARES; square++) {
+                long mask = masks[square];
+                long b = 0L;
+                do {
+                    table[offsets[square] + (int) ((b * magics[square]) >>> shifts[square])] = slidingAttacks(directions, square, b);
+                    b = (b - mask) & mask;
+                } while (b != 0);
+            }
+        }
+
+        long attacks(int square, long occupied) {
+            return table[offsets[square] + (int) (((occupied & masks[square]) * magics[square]) >>> shifts[square])];
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package chess;
+
+import boardgame.Board;
+import boardgame.BoardException;
+import boardgame.Piece;
+import boardgame.Position;
+
+import java.util.Arrays;
+
+public class ChessBoard extends Board {
+
+    public static final int SIZE = 8;
+    public static final int SQUARES = SIZE * SIZE;
+
+    private static final int COLORS = Color.values().length;
+    private static final int TYPES = PieceType.values().length;
+
+    // Shared by every board; placed pieces keep a reference, so these must never be mutated
+    private static final Position[] POSITIONS = new Position[SQUARES];
+
+    static {
+        for (int square = 0; square < SQUARES; square++)
+            POSITIONS[square] = new Position(square >>> 3, square & 7);
+    }
+
+    private final ChessPiece[] squares = new ChessPiece[SQUARES];
+    private final long[] pieceMasks = new long[COLORS * TYPES];
+    private final long[] colorMasks = new long[COLORS];
+    private long occupied;
+    private long zobristKey;
+    private final int[] material = new int[COLORS];
+    private int midgameScore;
+    private int endgameScore;
+    private int phase;
+
+    public ChessBoard() {
+        super(SIZE, SIZE);
+    }
+
+    // Squares are indexed row * 8 + column, same orientation as Position: a8 = 0, h1 = 63
+    public static int square(Position position) {
+        return position.getRow() * SIZE + position.getColumn();
+    }
+
+    public static int square(int row, int column) {
+        return row * SIZE + column;
+    }
+
+    public static Position toPosition(int square) {
+        return POSITIONS[square];
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    public int getMaterial(Color color) {
+        return material[color.ordinal()];
+    }
+
+    // Incremental material plus piece-square scores, positive when White is better
+    public int getMidgameScore() {
+        return midgameScore;
+    }
+
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public long getColorMask(Color color) {
+        return colorMasks[color.ordinal()];
+    }
+
+    public long getPieceMask(Color color, PieceType type) {
+        return pieceMasks[color.ordinal() * TYPES + type.ordinal()];
+    }
+
+    public ChessPiece piece(int square) {
+        return squares[square];
+    }
+
+    public boolean thereIsAPiece(int square) {
+        return (occupied & bit(square)) != 0;
+    }
+
+    public boolean isSquareAttacked(int square, Color byColor) {
+        int base = byColor.ordinal() * TYPES;
+        Color defender = (byColor == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        if ((Attacks.pawn(defender, square) & pieceMasks[base + PieceType.PAWN.ordinal()]) != 0)
+            return true;
+        if ((Attacks.knight(square) & pieceMasks[base + PieceType.KNIGHT.ordinal()]) != 0)
+            return true;
+        if ((Attacks.king(square) & pieceMasks[base + PieceType.KING.ordinal()]) != 0)
+            return true;
+        long queens = pieceMasks[base + PieceType.QUEEN.ordinal()];
+        if ((Attacks.rook(square, occupied) & (pieceMasks[base + PieceType.ROOK.ordinal()] | queens)) != 0)
+            return true;
+        return (Attacks.bishop(square, occupied) & (pieceMasks[base + PieceType.BISHOP.ordinal()] | queens)) != 0;
+    }
+
+    // Pieces of byColor attacking square, with sliders seen through the given occupancy
+    public long attackersTo(int square, Color byColor, long occupied) {
+        int base = byColor.ordinal() * TYPES;
+        Color defender = (byColor == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        long queens = pieceMasks[base + PieceType.QUEEN.ordinal()];
+        return (Attacks.pawn(defender, square) & pieceMasks[base + PieceType.PAWN.ordinal()])
+                | (Attacks.knight(square) & pieceMasks[base + PieceType.KNIGHT.ordinal()])
+                | (Attacks.king(square) & pieceMasks[base + PieceType.KING.ordinal()])
+                | (Attacks.rook(square, occupied) & (pieceMasks[base + PieceType.ROOK.ordinal()] | queens))
+                | (Attacks.bishop(square, occupied) & (pieceMasks[base + PieceType.BISHOP.ordinal()] | queens));
+    }
+
+    @Override
+    public boolean thereIsAPiece(Position position) {
+        if (!positionExists(position))
+            throw new BoardException("Posição não existente!");
+        return thereIsAPiece(square(position));
+    }
+
+    // Empties the board in one pass, without the per-piece key and score updates of removePiece
+    public void clear() {
+        long bits = occupied;
+        while (bits != 0) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            super.removePiece(POSITIONS[sq]);
+            squares[sq] = null;
+        }
+        Arrays.fill(pieceMasks, 0L);
+        Arrays.fill(colorMasks, 0L);
+        Arrays.fill(material, 0);
+        occupied = 0L;
+        zobristKey = 0L;
+        midgameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+    }
+
+    @Override
+    public void placePiece(Piece piece, Position position) {
+        super.placePiece(piece, position);
+        ChessPiece p = (ChessPiece) piece;
+        int sq = square(position);
+        long b = bit(sq);
+        squares[sq] = p;
+        pieceMasks[p.getColor().ordinal() * TYPES + p.getType().ordinal()] |= b;
+        colorMasks[p.getColor().ordinal()] |= b;
+        occupied |= b;
+        zobristKey ^= Zobrist.piece(p.getColor(), p.getType(), sq);
+        material[p.getColor().ordinal()] += Evaluation.pieceValue(p.getType());
+        midgameScore += Evaluation.midgame(p.getColor(), p.getType(), sq);
+        endgameScore += Evaluation.endgame(p.getColor(), p.getType(), sq);
+        phase += Evaluation.phase(p.getType());
+    }
+
+    @Override
+    public Piece removePiece(Position position) {
+        Piece piece = super.removePiece(position);
+        if (piece == null)
+            return null;
+        ChessPiece p = (ChessPiece) piece;
+        int sq = square(position);
+        long b = ~bit(sq);
+        squares[sq] = null;
+        pieceMasks[p.getColor().ordinal() * TYPES + p.getType().ordinal()] &= b;
+        colorMasks[p.getColor().ordinal()] &= b;
+        occupied &= b;
+        zobristKey ^= Zobrist.piece(p.getColor(), p.getType(), sq);
+        material[p.getColor().ordinal()] -= Evaluation.pieceValue(p.getType());
+        midgameScore -= Evaluation.midgame(p.getColor(), p.getType(), sq);
+        endgameScore -= Evaluation.endgame(p.getColor(), p.getType(), sq);
+        phase -= Evaluation.phase(p.getType());
+        return piece;
+    }
+}
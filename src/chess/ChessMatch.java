@@ -1,32 +1,177 @@
 package chess;
 
-import boardgame.Board;
 import boardgame.Piece;
 import boardgame.Position;
+import chess.metrics.ChessMoveEvent;
+import chess.metrics.Metrics;
+import chess.metrics.Probe;
 import chess.pieces.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ChessMatch {
 
-    private Board board;
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    public static final int MAX_MOVES = 256;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+
+    private ChessBoard board;
     private int turn;
     private  Color currentPlayer;
-    private List<Piece> piecesOnTheBoard = new ArrayList<>();
+    private PieceRegistry piecesOnTheBoard = new PieceRegistry();
     private List<Piece> capturedPieces = new ArrayList<>();
     private boolean check;
     private boolean checkMate;
+    private boolean stalemate;
     private ChessPiece enPassantVulnerable;
     private ChessPiece promoted;
+    private ChessPiece lastCaptured;
+    private long stateKey;
+    private long enPassantKey;
+    private LegalMoveGenerator generator;
+
+    private int ply;
+    private Piece[] historyCaptured = new Piece[0];
+    private ChessPiece[] historyPawn = new ChessPiece[0];
+    private ChessPiece[] historyEnPassant = new ChessPiece[0];
+    private ChessPiece[] historyPromoted = new ChessPiece[0];
+    private boolean[] historyCheck = new boolean[0];
 
 
     public ChessMatch() {
-        board = new Board(8,8);
+        board = new ChessBoard();
         turn = 1;
         currentPlayer = Color.WHITE;
         initialSetup();
+        stateKey = Zobrist.castling(getCastlingRights());
+    }
+
+    public ChessMatch(ChessMatch other) {
+        board = new ChessBoard();
+        turn = other.turn;
+        currentPlayer = other.currentPlayer;
+        check = other.check;
+        checkMate = other.checkMate;
+        stalemate = other.stalemate;
+        for (int square = 0; square < ChessBoard.SQUARES; square++) {
+            ChessPiece p = other.board.piece(square);
+            if (p == null)
+                continue;
+            ChessPiece copy = createPiece(p.getType(), p.getColor());
+            copy.setMoveCount(p.getMoveCount());
+            board.placePiece(copy, ChessBoard.toPosition(square));
+            piecesOnTheBoard.add(copy);
+            if (p == other.enPassantVulnerable)
+                enPassantVulnerable = copy;
+            if (p == other.promoted)
+                promoted = copy;
+        }
+        for (Piece p : other.capturedPieces) {
+            ChessPiece captured = (ChessPiece) p;
+            capturedPieces.add(createPiece(captured.getType(), captured.getColor()));
+        }
+        stateKey = other.stateKey;
+        enPassantKey = other.enPassantKey;
+    }
+
+    public ChessMatch(GameState state) {
+        board = new ChessBoard();
+        load(state);
+    }
+
+    public ChessMatch(String fen) {
+        board = new ChessBoard();
+        load(fen);
+    }
+
+    // Sets up another position in place, keeping the board, the move generator and the history buffers
+    public void load(GameState state) {
+        board.clear();
+        piecesOnTheBoard.clear();
+
+        int rights = state.getCastlingRights();
+        for (Color color : COLORS) {
+            for (PieceType type : PIECE_TYPES) {
+                long mask = state.getPieceMask(color, type);
+                while (mask != 0) {
+                    int square = Long.numberOfTrailingZeros(mask);
+                    ChessPiece piece = createPiece(type, color);
+                    board.placePiece(piece, ChessBoard.toPosition(square));
+                    piecesOnTheBoard.add(piece);
+                    piece.setMoveCount(restoredMoveCount(type, color, square, rights));
+                    mask &= mask - 1;
+                }
+            }
+        }
+
+        turn = state.getTurn();
+        currentPlayer = state.getSideToMove();
+        check = state.isCheck();
+        checkMate = state.isCheckMate();
+        stalemate = false;
+        promoted = null;
+        capturedPieces.clear();
+        ply = 0;
+        enPassantVulnerable = null;
+        enPassantKey = 0L;
+        stateKey = Zobrist.castling(getCastlingRights());
+        if (currentPlayer == Color.BLACK)
+            stateKey ^= Zobrist.blackToMove();
+        if (state.getEnPassantSquare() >= 0)
+            setEnPassantVulnerable(board.piece(state.getEnPassantSquare()));
+    }
+
+    // Same as load(GameState), with check, mate and stalemate worked out for the side to move
+    public void load(String fen) {
+        load(Fen.parse(fen));
+        LegalMoveGenerator generator = generator(currentPlayer);
+        check = generator.isCheck();
+        if (!generator.hasLegalMove()) {
+            checkMate = check;
+            stalemate = !check;
+        }
+    }
+
+    // Move counts only matter as "has moved": castling pieces keep 0 while the right exists,
+    // pawns keep 0 on their starting rank so they can still advance two squares
+    private static int restoredMoveCount(PieceType type, Color color, int square, int rights) {
+        boolean white = color == Color.WHITE;
+        switch (type) {
+            case PAWN:
+                return (square >>> 3) == (white ? 6 : 1) ? 0 : 1;
+            case KING:
+                return (square == (white ? 60 : 4) && (rights & (white ? WHITE_KINGSIDE | WHITE_QUEENSIDE : BLACK_KINGSIDE | BLACK_QUEENSIDE)) != 0) ? 0 : 1;
+            case ROOK:
+                if (square == 63 && (rights & WHITE_KINGSIDE) != 0 && white) return 0;
+                if (square == 56 && (rights & WHITE_QUEENSIDE) != 0 && white) return 0;
+                if (square == 7 && (rights & BLACK_KINGSIDE) != 0 && !white) return 0;
+                if (square == 0 && (rights & BLACK_QUEENSIDE) != 0 && !white) return 0;
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    public GameState snapshot() {
+        long[] pieces = new long[COLORS.length * PIECE_TYPES.length];
+        for (Color color : COLORS) {
+            for (PieceType type : PIECE_TYPES)
+                pieces[color.ordinal() * PIECE_TYPES.length + type.ordinal()] = board.getPieceMask(color, type);
+        }
+        int enPassantSquare = enPassantVulnerable == null ? -1 : enPassantVulnerable.getSquare();
+        return new GameState(pieces, currentPlayer, getCastlingRights(), enPassantSquare, turn, check, checkMate);
+    }
+
+    public String toFen() {
+        return Fen.toFen(this);
     }
 
     public int getTurn() {
@@ -41,6 +186,46 @@ public class ChessMatch {
         return promoted;
     }
 
+    public long getZobristKey() {
+        return board.getZobristKey() ^ stateKey;
+    }
+
+    public int getCastlingRights() {
+        // Kings on e1/e8 and rooks on h1, a1, h8, a8 that have never moved
+        int rights = 0;
+        if (hasUnmovedPiece(60, Color.WHITE, PieceType.KING)) {
+            if (hasUnmovedPiece(63, Color.WHITE, PieceType.ROOK))
+                rights |= WHITE_KINGSIDE;
+            if (hasUnmovedPiece(56, Color.WHITE, PieceType.ROOK))
+                rights |= WHITE_QUEENSIDE;
+        }
+        if (hasUnmovedPiece(4, Color.BLACK, PieceType.KING)) {
+            if (hasUnmovedPiece(7, Color.BLACK, PieceType.ROOK))
+                rights |= BLACK_KINGSIDE;
+            if (hasUnmovedPiece(0, Color.BLACK, PieceType.ROOK))
+                rights |= BLACK_QUEENSIDE;
+        }
+        return rights;
+    }
+
+    private boolean hasUnmovedPiece(int square, Color color, PieceType type) {
+        ChessPiece p = board.piece(square);
+        return p != null && p.getColor() == color && p.getType() == type && p.getMoveCount() == 0;
+    }
+
+    // Tapered material and piece-square score in centipawns, positive when White is better
+    public int getEvaluation() {
+        return Evaluation.taper(board.getMidgameScore(), board.getEndgameScore(), board.getPhase());
+    }
+
+    public int recomputeEvaluation() {
+        return Evaluation.evaluate(board);
+    }
+
+    public int getMaterial(Color color) {
+        return board.getMaterial(color);
+    }
+
     public boolean isCheck() {
         return check;
     }
@@ -49,28 +234,28 @@ public class ChessMatch {
         return checkMate;
     }
 
-    private boolean testCheckMate(Color color) {
-        if (!testCheck(color))
-            return false;
-
-        List<Piece> list = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == color).collect(Collectors.toList());
-        for (Piece p : list) {
-            boolean[][] possible = p.possibleMoves();
-            for (int i = 0; i < board.getRows(); i++) {
-                for (int j = 0; j < board.getColumns(); j++) {
-                    if (possible[i][j]) {
-                        Position source = ((ChessPiece)p).getChessPosition().toPosition();
-                        Position target = new Position(i,j);
-                        Piece capturedPiece = makeMove(source, target);
-                        boolean testCheck = testCheck(color);
-                        undoMove(source, target, capturedPiece);
-                        if (!testCheck)
-                            return false;
-                    }
-                }
-            }
-        }
-        return true;
+    public boolean isStalemate() {
+        return stalemate;
+    }
+
+    public boolean testCheckMate(Color color) {
+        long start = Metrics.start();
+        LegalMoveGenerator generator = generator(color);
+        boolean mate = generator.isCheck() && !generator.hasLegalMove();
+        Metrics.stop(Probe.TEST_CHECK_MATE, start);
+        return mate;
+    }
+
+    public boolean testStalemate(Color color) {
+        LegalMoveGenerator generator = generator(color);
+        return !generator.isCheck() && !generator.hasLegalMove();
+    }
+
+    private LegalMoveGenerator generator(Color color) {
+        if (generator == null)
+            generator = new LegalMoveGenerator(board, piecesOnTheBoard);
+        generator.setup(color, enPassantVulnerable);
+        return generator;
     }
 
     public Color getCurrentPlayer() {
@@ -87,28 +272,35 @@ public class ChessMatch {
         return aux;
     }
 
+    public ChessPiece piece(int square) {
+        return board.piece(square);
+    }
+
+    public long getPieceMask(Color color, PieceType type) {
+        return board.getPieceMask(color, type);
+    }
+
+    public long getOccupied() {
+        return board.getOccupied();
+    }
+
     private Color opponent(Color color) {
         return (color == Color.WHITE) ? Color.BLACK : Color.WHITE;
     }
 
     private ChessPiece king(Color color) {
-        List<Piece> list = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == color).collect(Collectors.toList());
-        for (Piece p : list)
-            if (p instanceof King)
-                return (ChessPiece) p;
+        return piecesOnTheBoard.king(color);
+    }
 
-        throw new IllegalStateException("Não existe rei desta cor");
+    public boolean testCheck(Color color) {
+        long start = Metrics.start();
+        boolean inCheck = board.isSquareAttacked(king(color).getSquare(), opponent(color));
+        Metrics.stop(Probe.TEST_CHECK, start);
+        return inCheck;
     }
 
-    private boolean testCheck(Color color) {
-        Position kingPosition = king(color).getChessPosition().toPosition();
-        List<Piece> opponentPieces = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == opponent(color)).collect(Collectors.toList());
-        for (Piece p : opponentPieces) {
-            boolean[][] possible = p.possibleMoves();
-            if (possible[kingPosition.getRow()][kingPosition.getColumn()])
-                return true;
-        }
-        return false;
+    public boolean isSquareAttacked(ChessPosition position, Color byColor) {
+        return board.isSquareAttacked(ChessBoard.square(position.toPosition()), byColor);
     }
 
     private void placeNewPiece(int row, char column, ChessPiece piece) {
@@ -122,16 +314,142 @@ public class ChessMatch {
         return board.piece(position).possibleMoves();
     }
 
+    public long possibleMovesMask(ChessPosition sourcePosition) {
+        Position position = sourcePosition.toPosition();
+        validateSourcePosition(position);
+        return ((ChessPiece)board.piece(position)).probedMovesMask();
+    }
+
+    public int legalMoves(int[] moves) {
+        return generator(currentPlayer).generate(moves);
+    }
+
+    public long legalMovesMask(ChessPosition sourcePosition) {
+        Position position = sourcePosition.toPosition();
+        validateSourcePosition(position);
+        ChessPiece piece = (ChessPiece) board.piece(position);
+        return generator(piece.getColor()).legalTargets(piece);
+    }
+
+    public void makeMove(int move) {
+        if (ply == historyCaptured.length)
+            growHistory();
+
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Position target = ChessBoard.toPosition(to);
+        historyCaptured[ply] = makeMove(ChessBoard.toPosition(from), target);
+        historyEnPassant[ply] = enPassantVulnerable;
+        historyPromoted[ply] = promoted;
+        historyCheck[ply] = check;
+        historyPawn[ply] = null;
+
+        ChessPiece movedPiece = board.piece(to);
+        if (Move.isPromotion(move)) {
+            historyPawn[ply] = movedPiece;
+            board.removePiece(target);
+            piecesOnTheBoard.remove(movedPiece);
+            ChessPiece newPiece = createPiece(Move.promotion(move), movedPiece.getColor());
+            board.placePiece(newPiece, target);
+            piecesOnTheBoard.add(newPiece);
+        }
+
+        if (movedPiece instanceof Pawn && (to - from == 16 || from - to == 16))
+            setEnPassantVulnerable(movedPiece);
+        else
+            setEnPassantVulnerable(null);
+
+        promoted = null;
+        nextTurn();
+        check = testCheck(currentPlayer);
+        ply++;
+    }
+
+    public void undoMove(int move) {
+        ply--;
+        previousTurn();
+        check = historyCheck[ply];
+        promoted = historyPromoted[ply];
+        enPassantVulnerable = historyEnPassant[ply];
+
+        Position target = ChessBoard.toPosition(Move.to(move));
+        ChessPiece pawn = historyPawn[ply];
+        if (pawn != null) {
+            ChessPiece newPiece = (ChessPiece) board.removePiece(target);
+            piecesOnTheBoard.remove(newPiece);
+            board.placePiece(pawn, target);
+            piecesOnTheBoard.add(pawn);
+            historyPawn[ply] = null;
+        }
+
+        undoMove(ChessBoard.toPosition(Move.from(move)), target, historyCaptured[ply]);
+        setEnPassantVulnerable(historyEnPassant[ply]);
+        historyCaptured[ply] = null;
+        historyEnPassant[ply] = null;
+        historyPromoted[ply] = null;
+    }
+
+    private void growHistory() {
+        int capacity = Math.max(64, historyCaptured.length * 2);
+        historyCaptured = Arrays.copyOf(historyCaptured, capacity);
+        historyPawn = Arrays.copyOf(historyPawn, capacity);
+        historyEnPassant = Arrays.copyOf(historyEnPassant, capacity);
+        historyPromoted = Arrays.copyOf(historyPromoted, capacity);
+        historyCheck = Arrays.copyOf(historyCheck, capacity);
+    }
+
     public ChessPiece performChessMove(ChessPosition sourcePosition, ChessPosition targetPosition) {
-        Position source = sourcePosition.toPosition();
-        Position target = targetPosition.toPosition();
-        validateSourcePosition(source);
-        validateTargetPosition(source, target);
+        MoveResult result = tryMove(sourcePosition, targetPosition);
+        if (result != MoveResult.OK)
+            throw new ChessException(result.getMessage());
+        return lastCaptured;
+    }
+
+    public MoveResult tryMove(ChessPosition sourcePosition, ChessPosition targetPosition) {
+        return tryMove(ChessBoard.square(sourcePosition.toPosition()), ChessBoard.square(targetPosition.toPosition()));
+    }
+
+    // Squares are row * 8 + column from a8; out-of-range squares are ILLEGAL_SOURCE or ILLEGAL_TARGET.
+    // Never throws for an illegal move, so bots and network clients can probe moves cheaply
+    public MoveResult tryMove(int source, int target) {
+        ChessMoveEvent event = new ChessMoveEvent();
+        event.begin();
+        long start = Metrics.start();
+        lastCaptured = null;
+        MoveResult result = executeMove(source, target);
+        Metrics.stop(Probe.PERFORM_CHESS_MOVE, start);
+        if (event.shouldCommit()) {
+            event.source = squareName(source);
+            event.target = squareName(target);
+            event.turn = turn;
+            event.legal = result == MoveResult.OK;
+            event.capture = lastCaptured != null;
+            event.check = event.legal && check;
+            event.checkMate = event.legal && checkMate;
+            event.commit();
+        }
+        return result;
+    }
+
+    // Piece taken by the last legal tryMove or performChessMove, null when it captured nothing
+    public ChessPiece getLastCaptured() {
+        return lastCaptured;
+    }
+
+    private MoveResult executeMove(int sourceSquare, int targetSquare) {
+        MoveResult result = checkSource(sourceSquare);
+        if (result != MoveResult.OK)
+            return result;
+        result = checkTarget(sourceSquare, targetSquare);
+        if (result != MoveResult.OK)
+            return result;
+        Position source = ChessBoard.toPosition(sourceSquare);
+        Position target = ChessBoard.toPosition(targetSquare);
         Piece capturedPiece = makeMove(source, target);
 
         if (testCheck(currentPlayer)) {
             undoMove(source, target, capturedPiece);
-            throw new ChessException("Você não pode se colocar em check!");
+            return MoveResult.SELF_CHECK;
         }
 
         ChessPiece movedPiece = (ChessPiece)board.piece(target);
@@ -141,24 +459,35 @@ public class ChessMatch {
             if ((movedPiece.getColor() == Color.WHITE && target.getRow() == 0)
                     || (movedPiece.getColor() == Color.BLACK && target.getRow() == 7)) {
                 promoted = (ChessPiece)board.piece(target);
-                promoted = replacePromotedPiece("R");
+                promoted = replacePiece(PieceType.QUEEN);
             }
         }
 
-        check = testCheck(opponent(currentPlayer));
+        if (movedPiece instanceof Pawn && (target.getRow() == source.getRow() - 2 || target.getRow() == source.getRow() + 2))
+            setEnPassantVulnerable(movedPiece);
+        else
+            setEnPassantVulnerable(null);
 
-        if (testCheckMate(opponent(currentPlayer))) {
-            checkMate = true;
+        LegalMoveGenerator generator = generator(opponent(currentPlayer));
+        check = generator.isCheck();
+
+        if (!generator.hasLegalMove()) {
+            if (check)
+                checkMate = true;
+            else
+                stalemate = true;
         }
-        else
+        if (!checkMate)
             nextTurn();
 
-        if (movedPiece instanceof Pawn && (target.getRow() == source.getRow() - 2 || target.getRow() == source.getRow() + 2))
-            enPassantVulnerable = movedPiece;
-        else
-            enPassantVulnerable = null;
+        lastCaptured = (ChessPiece) capturedPiece;
+        return MoveResult.OK;
+    }
 
-        return (ChessPiece) capturedPiece;
+    private static String squareName(int square) {
+        if (square < 0 || square >= 64)
+            return String.valueOf(square);
+        return ChessPosition.fromPosition(ChessBoard.toPosition(square)).toString();
     }
 
     public ChessPiece replacePromotedPiece (String type) {
@@ -167,46 +496,93 @@ public class ChessMatch {
         if (!type.equals("C") && !type.equals("R") && !type.equals("B") && !type.equals("T"))
             return promoted;
 
+        ChessPiece newPiece = replacePiece(promotionType(type));
+
+        // Check and mate were worked out with a queen on the promotion square
+        LegalMoveGenerator generator = generator(opponent(newPiece.getColor()));
+        boolean wasCheckMate = checkMate;
+        check = generator.isCheck();
+        boolean hasLegalMove = generator.hasLegalMove();
+        checkMate = check && !hasLegalMove;
+        stalemate = !check && !hasLegalMove;
+        if (wasCheckMate && !checkMate)
+            nextTurn();
+        else if (!wasCheckMate && checkMate)
+            previousTurn();
+
+        promoted = newPiece;
+        return newPiece;
+    }
+
+    private ChessPiece replacePiece(PieceType type) {
         Position pos = promoted.getChessPosition().toPosition();
         Piece p = board.removePiece(pos);
-        piecesOnTheBoard.remove(p);
+        piecesOnTheBoard.remove((ChessPiece) p);
 
-        ChessPiece newPiece = newPiece(type, promoted.getColor());
+        ChessPiece newPiece = createPiece(type, promoted.getColor());
         board.placePiece(newPiece, pos);
         piecesOnTheBoard.add(newPiece);
 
         return newPiece;
     }
 
-    private ChessPiece newPiece(String type, Color color) {
-        if (type.equals("B")) return new Bishop(board,color);
-        if (type.equals("C")) return new Knight(board,color);
-        if (type.equals("R")) return new Queen(board,color);
-        return new Rook(board, color);
+    private PieceType promotionType(String type) {
+        if (type.equals("B")) return PieceType.BISHOP;
+        if (type.equals("C")) return PieceType.KNIGHT;
+        if (type.equals("R")) return PieceType.QUEEN;
+        return PieceType.ROOK;
+    }
+
+    private ChessPiece createPiece(PieceType type, Color color) {
+        switch (type) {
+            case PAWN: return new Pawn(board, color, this);
+            case KNIGHT: return new Knight(board, color);
+            case BISHOP: return new Bishop(board, color);
+            case ROOK: return new Rook(board, color);
+            case QUEEN: return new Queen(board, color);
+            default: return new King(board, color);
+        }
     }
 
     private void validateSourcePosition(Position position){
-        if (!board.thereIsAPiece(position))
-            throw new ChessException("Não existe peça nessa posição");
-        if (currentPlayer != ((ChessPiece)board.piece(position)).getColor())
-            throw new ChessException("Esta peça pertence ao adversário");
-        if (!board.piece(position).isThereAnyPossibleMove())
-            throw new ChessException("Não existem movimentos possiveis para esta peça!");
+        MoveResult result = checkSource(ChessBoard.square(position));
+        if (result != MoveResult.OK)
+            throw new ChessException(result.getMessage());
+    }
+
+    private MoveResult checkSource(int square) {
+        if (square < 0 || square >= 64 || !board.thereIsAPiece(square))
+            return MoveResult.ILLEGAL_SOURCE;
+        ChessPiece piece = board.piece(square);
+        if (currentPlayer != piece.getColor())
+            return MoveResult.WRONG_COLOR;
+        if (!piece.isThereAnyPossibleMove())
+            return MoveResult.NO_MOVES;
+        return MoveResult.OK;
     }
 
-    private void validateTargetPosition(Position source, Position target) {
-        if (!board.piece(source).possibleMove(target))
-            throw new ChessException("Não é possivel mover esta peça para a posição escolhida");
+    private MoveResult checkTarget(int source, int target) {
+        if (target < 0 || target >= 64 || (board.piece(source).probedMovesMask() & ChessBoard.bit(target)) == 0)
+            return MoveResult.ILLEGAL_TARGET;
+        return MoveResult.OK;
+    }
+
+    private void setEnPassantVulnerable(ChessPiece piece) {
+        enPassantVulnerable = piece;
+        stateKey ^= enPassantKey;
+        enPassantKey = (piece == null) ? 0L : Zobrist.enPassant(piece.getSquare() & 7);
+        stateKey ^= enPassantKey;
     }
 
     private Piece makeMove(Position source, Position target) {
+        int castlingRights = getCastlingRights();
         ChessPiece p = (ChessPiece) board.removePiece(source);
         p.increaseMoveCount();
         Piece capturedPiece = board.removePiece(target);
         board.placePiece(p, target);
 
         if (capturedPiece != null) {
-            piecesOnTheBoard.remove(capturedPiece);
+            piecesOnTheBoard.remove((ChessPiece) capturedPiece);
             capturedPieces.add(capturedPiece);
         }
 
@@ -237,22 +613,24 @@ public class ChessMatch {
 
                 capturedPiece = board.removePiece(pawnPosition);
                 capturedPieces.add(capturedPiece);
-                piecesOnTheBoard.remove(capturedPiece);
+                piecesOnTheBoard.remove((ChessPiece) capturedPiece);
             }
         }
 
+        stateKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(getCastlingRights());
         return capturedPiece;
     }
 
     private void undoMove(Position source, Position target, Piece capturedPiece) {
+        int castlingRights = getCastlingRights();
         ChessPiece p = (ChessPiece) board.removePiece(target);
         p.decreaseMoveCount();
         board.placePiece(p, source);
 
         if (capturedPiece != null){
             board.placePiece(capturedPiece, target);
-            capturedPieces.remove(capturedPiece);
-            piecesOnTheBoard.add(capturedPiece);
+            capturedPieces.remove(capturedPieces.size() - 1);
+            piecesOnTheBoard.add((ChessPiece) capturedPiece);
         }
 
         if (p instanceof King && target.getColumn() == source.getColumn() + 2) {
@@ -272,7 +650,7 @@ public class ChessMatch {
         }
 
         if (p instanceof Pawn) {
-            if (source.getColumn() != target.getColumn() && capturedPiece == null) {
+            if (source.getColumn() != target.getColumn() && capturedPiece != null && capturedPiece == enPassantVulnerable) {
                 Position pawnPosition;
                 ChessPiece pawn = (ChessPiece) board.removePiece(target);
 
@@ -282,17 +660,22 @@ public class ChessMatch {
                     pawnPosition = new Position(4, target.getColumn());
 
                 board.placePiece(pawn, pawnPosition);
-                capturedPiece = board.removePiece(pawnPosition);
-                capturedPieces.add(capturedPiece);
-                piecesOnTheBoard.remove(capturedPiece);
             }
         }
 
+        stateKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(getCastlingRights());
     }
 
     private void nextTurn() {
         turn++;
         currentPlayer = (currentPlayer == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        stateKey ^= Zobrist.blackToMove();
+    }
+
+    private void previousTurn() {
+        turn--;
+        currentPlayer = opponent(currentPlayer);
+        stateKey ^= Zobrist.blackToMove();
     }
 
     private void initialSetup() {
@@ -300,7 +683,7 @@ public class ChessMatch {
         placeNewPiece(1,'b', new Knight(board, Color.WHITE));
         placeNewPiece(1, 'c', new Bishop(board, Color.WHITE));
         placeNewPiece(1, 'd', new Queen(board, Color.WHITE));
-        placeNewPiece(1,'e', new King(board, Color.WHITE, this));
+        placeNewPiece(1,'e', new King(board, Color.WHITE));
         placeNewPiece(1, 'f', new Bishop(board, Color.WHITE));
         placeNewPiece(1, 'g', new Knight(board, Color.WHITE));
         placeNewPiece(1,'h', new Rook(board, Color.WHITE));
@@ -317,7 +700,7 @@ public class ChessMatch {
         placeNewPiece(8,'b', new Knight(board, Color.BLACK));
         placeNewPiece(8, 'c', new Bishop(board, Color.BLACK));
         placeNewPiece(8, 'd', new Queen(board, Color.BLACK));
-        placeNewPiece( 8,'e', new King(board, Color.BLACK, this));
+        placeNewPiece( 8,'e', new King(board, Color.BLACK));
         placeNewPiece(8, 'f', new Bishop(board, Color.BLACK));
         placeNewPiece(8,'g', new Knight(board, Color.BLACK));
         placeNewPiece( 8,'h', new Rook(board, Color.BLACK));
@@ -3,11 +3,14 @@ package chess;
 import boardgame.Board;
 import boardgame.Piece;
 import boardgame.Position;
+import chess.metrics.Metrics;
+import chess.metrics.Probe;
 
 public abstract class ChessPiece extends Piece {
 
     private Color color;
     private int moveCount;
+    int registryIndex = -1;
 
     public int getMoveCount() {
         return moveCount;
@@ -21,6 +24,10 @@ public abstract class ChessPiece extends Piece {
         moveCount--;
     }
 
+    public void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
     public ChessPiece(Board board, Color color) {
         super(board);
         this.color = color;
@@ -34,8 +41,63 @@ public abstract class ChessPiece extends Piece {
         return color;
     }
 
+    public abstract PieceType getType();
+
+    public abstract long possibleMovesMask();
+
+    public int possibleMoves(int[] moves, int count) {
+        int from = ChessBoard.square(position);
+        long mask = probedMovesMask();
+        while (mask != 0) {
+            moves[count++] = Move.encode(from, Long.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean[][] possibleMoves() {
+        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
+        long mask = probedMovesMask();
+        while (mask != 0) {
+            int square = Long.numberOfTrailingZeros(mask);
+            mat[square >>> 3][square & 7] = true;
+            mask &= mask - 1;
+        }
+        return mat;
+    }
+
+    @Override
+    public boolean possibleMove(Position position) {
+        return (probedMovesMask() & ChessBoard.bit(ChessBoard.square(position))) != 0;
+    }
+
+    @Override
+    public boolean isThereAnyPossibleMove() {
+        return probedMovesMask() != 0;
+    }
+
+    long probedMovesMask() {
+        long start = Metrics.start();
+        long mask = possibleMovesMask();
+        Metrics.stop(Probe.POSSIBLE_MOVES, start);
+        return mask;
+    }
+
+    protected ChessBoard getChessBoard() {
+        return (ChessBoard) getBoard();
+    }
+
+    protected int getSquare() {
+        return ChessBoard.square(position);
+    }
+
+    protected long getOwnMask() {
+        return getChessBoard().getColorMask(color);
+    }
+
     protected boolean isThereOpponentPiece(Position position) {
-        ChessPiece p = (ChessPiece) getBoard().piece(position);
-        return p != null && p.getColor() != color;
+        return (getChessBoard().getColorMask(color) & ChessBoard.bit(ChessBoard.square(position))) == 0
+                && getChessBoard().thereIsAPiece(position);
     }
 }
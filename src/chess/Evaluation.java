@@ -0,0 +1,163 @@
+package chess;
+
+public final class Evaluation {
+
+    // Game phase runs from MAX_PHASE with all minor and major pieces on the board down to 0
+    public static final int MAX_PHASE = 24;
+
+    private static final int COLORS = Color.values().length;
+    private static final int TYPES = PieceType.values().length;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] MIDGAME_VALUES = {82, 337, 365, 477, 1025, 0};
+    private static final int[] ENDGAME_VALUES = {94, 281, 297, 512, 936, 0};
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+
+    // Piece-square tables from White's point of view, laid out like the board squares: a8 first, h1 last
+    private static final int[] PAWN_MIDGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] PAWN_ENDGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             90,  90,  90,  90,  90,  90,  90,  90,
+             55,  55,  50,  45,  45,  50,  55,  55,
+             30,  30,  25,  20,  20,  25,  30,  30,
+             15,  15,  10,  10,  10,  10,  15,  15,
+              5,   5,   5,   5,   5,   5,   5,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+    private static final int[] KING_MIDGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    // Material plus piece-square value, signed so that White is positive, indexed [color * 6 + type][square]
+    private static final int[][] MIDGAME = new int[COLORS * TYPES][ChessBoard.SQUARES];
+    private static final int[][] ENDGAME = new int[COLORS * TYPES][ChessBoard.SQUARES];
+
+    static {
+        int[][] midgameTables = {PAWN_MIDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDGAME};
+        int[][] endgameTables = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+        for (Color color : Color.values()) {
+            int sign = (color == Color.WHITE) ? 1 : -1;
+            for (int type = 0; type < TYPES; type++) {
+                for (int square = 0; square < ChessBoard.SQUARES; square++) {
+                    // Black reads the tables with the ranks flipped
+                    int relative = (color == Color.WHITE) ? square : square ^ 56;
+                    MIDGAME[color.ordinal() * TYPES + type][square] = sign * (MIDGAME_VALUES[type] + midgameTables[type][relative]);
+                    ENDGAME[color.ordinal() * TYPES + type][square] = sign * (ENDGAME_VALUES[type] + endgameTables[type][relative]);
+                }
+            }
+        }
+    }
+
+    private Evaluation() {
+    }
+
+    public static int pieceValue(PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    public static int midgame(Color color, PieceType type, int square) {
+        return MIDGAME[color.ordinal() * TYPES + type.ordinal()][square];
+    }
+
+    public static int endgame(Color color, PieceType type, int square) {
+        return ENDGAME[color.ordinal() * TYPES + type.ordinal()][square];
+    }
+
+    public static int phase(PieceType type) {
+        return PHASE_WEIGHTS[type.ordinal()];
+    }
+
+    // Blends the two scores by game phase; promotions can push the phase past MAX_PHASE
+    public static int taper(int midgame, int endgame, int phase) {
+        int p = Math.min(phase, MAX_PHASE);
+        return (midgame * p + endgame * (MAX_PHASE - p)) / MAX_PHASE;
+    }
+
+    // Full recompute from the piece masks, for cross-checking the incremental scores kept by the board
+    public static int evaluate(ChessBoard board) {
+        int midgame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (Color color : Color.values()) {
+            for (PieceType type : PIECE_TYPES) {
+                long mask = board.getPieceMask(color, type);
+                while (mask != 0) {
+                    int square = Long.numberOfTrailingZeros(mask);
+                    midgame += midgame(color, type, square);
+                    endgame += endgame(color, type, square);
+                    phase += phase(type);
+                    mask &= mask - 1;
+                }
+            }
+        }
+        return taper(midgame, endgame, phase);
+    }
+}
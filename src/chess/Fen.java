@@ -0,0 +1,253 @@
+package chess;
+
+public final class Fen {
+
+    public static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final Color[] COLORS = Color.values();
+    private static final int TYPES = PieceType.values().length;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final char[] LETTERS = {'p', 'n', 'b', 'r', 'q', 'k'};
+
+    private Fen() {
+    }
+
+    // Reads placement, side to move, castling, en passant and the move number; the halfmove clock is
+    // accepted but not kept. Trailing fields may be missing, as in EPD records
+    public static GameState parse(CharSequence fen) {
+        long[] pieces = new long[COLORS.length * TYPES];
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        int row = 0;
+        int column = 0;
+        for (; i < length; i++) {
+            char c = fen.charAt(i);
+            if (c == ' ')
+                break;
+            if (c == '/') {
+                if (column != ChessBoard.SIZE)
+                    throw invalid(fen, "fileira " + (ChessBoard.SIZE - row) + " incompleta");
+                row++;
+                column = 0;
+            }
+            else if (c >= '1' && c <= '8')
+                column += c - '0';
+            else {
+                int type = pieceType(c);
+                if (type < 0)
+                    throw invalid(fen, "peça desconhecida '" + c + "'");
+                if (column >= ChessBoard.SIZE || row >= ChessBoard.SIZE)
+                    throw invalid(fen, "casas demais");
+                if (type == PieceType.PAWN.ordinal() && (row == 0 || row == ChessBoard.SIZE - 1))
+                    throw invalid(fen, "peão na última fileira");
+                Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+                pieces[color.ordinal() * TYPES + type] |= ChessBoard.bit(ChessBoard.square(row, column));
+                column++;
+            }
+            if (column > ChessBoard.SIZE)
+                throw invalid(fen, "casas demais");
+        }
+        if (row != ChessBoard.SIZE - 1 || column != ChessBoard.SIZE)
+            throw invalid(fen, "posição incompleta");
+        for (Color color : COLORS) {
+            if (Long.bitCount(pieces[color.ordinal() * TYPES + PieceType.KING.ordinal()]) != 1)
+                throw invalid(fen, "é preciso exatamente um rei de cada cor");
+        }
+
+        i = skipSpaces(fen, i);
+        Color sideToMove = Color.WHITE;
+        if (i < length) {
+            char c = fen.charAt(i++);
+            if (c == 'b')
+                sideToMove = Color.BLACK;
+            else if (c != 'w')
+                throw invalid(fen, "cor a jogar deve ser w ou b");
+        }
+        Color opponent = (sideToMove == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        long opponentKing = pieces[opponent.ordinal() * TYPES + PieceType.KING.ordinal()];
+        if (isAttacked(pieces, Long.numberOfTrailingZeros(opponentKing), sideToMove))
+            throw invalid(fen, "lado que não joga está em xeque");
+
+        i = skipSpaces(fen, i);
+        int rights = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            switch (fen.charAt(i)) {
+                case 'K': rights |= ChessMatch.WHITE_KINGSIDE; break;
+                case 'Q': rights |= ChessMatch.WHITE_QUEENSIDE; break;
+                case 'k': rights |= ChessMatch.BLACK_KINGSIDE; break;
+                case 'q': rights |= ChessMatch.BLACK_QUEENSIDE; break;
+                case '-': break;
+                default: throw invalid(fen, "roque inválido");
+            }
+        }
+        rights &= availableRights(pieces);
+
+        i = skipSpaces(fen, i);
+        int enPassantSquare = -1;
+        if (i < length && fen.charAt(i) != '-') {
+            if (i + 1 >= length)
+                throw invalid(fen, "casa de en passant inválida");
+            int epColumn = fen.charAt(i) - 'a';
+            int epRow = ChessBoard.SIZE - (fen.charAt(i + 1) - '0');
+            int expectedRow = (sideToMove == Color.WHITE) ? 2 : 5;
+            if (epColumn < 0 || epColumn >= ChessBoard.SIZE || epRow != expectedRow)
+                throw invalid(fen, "casa de en passant inválida");
+            // Stored as the square of the pawn that just advanced two squares
+            int pawnSquare = ChessBoard.square(sideToMove == Color.WHITE ? 3 : 4, epColumn);
+            Color mover = (sideToMove == Color.WHITE) ? Color.BLACK : Color.WHITE;
+            if ((pieces[mover.ordinal() * TYPES + PieceType.PAWN.ordinal()] & ChessBoard.bit(pawnSquare)) == 0)
+                throw invalid(fen, "não há peão para captura en passant");
+            enPassantSquare = pawnSquare;
+            i += 2;
+        }
+        else if (i < length)
+            i++;
+
+        // Halfmove clock and move number are optional; EPD operations take their place
+        i = skipSpaces(fen, i);
+        int moveNumber = 1;
+        if (isNumber(fen, i)) {
+            i = skipSpaces(fen, skipField(fen, i));
+            if (isNumber(fen, i)) {
+                moveNumber = 0;
+                for (; i < length && fen.charAt(i) != ' '; i++)
+                    moveNumber = moveNumber * 10 + (fen.charAt(i) - '0');
+                moveNumber = Math.max(moveNumber, 1);
+            }
+        }
+        int turn = 2 * moveNumber - 1 + (sideToMove == Color.BLACK ? 1 : 0);
+
+        return new GameState(pieces, sideToMove, rights, enPassantSquare, turn, false, false);
+    }
+
+    public static String toFen(ChessMatch match) {
+        return toFen(match.snapshot());
+    }
+
+    public static String toFen(GameState state) {
+        StringBuilder sb = new StringBuilder(90);
+        for (int row = 0; row < ChessBoard.SIZE; row++) {
+            int empty = 0;
+            for (int column = 0; column < ChessBoard.SIZE; column++) {
+                char c = pieceAt(state, ChessBoard.square(row, column));
+                if (c == 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0)
+                    sb.append((char) ('0' + empty));
+                empty = 0;
+                sb.append(c);
+            }
+            if (empty > 0)
+                sb.append((char) ('0' + empty));
+            if (row < ChessBoard.SIZE - 1)
+                sb.append('/');
+        }
+
+        sb.append(state.getSideToMove() == Color.WHITE ? " w " : " b ");
+
+        int rights = state.getCastlingRights();
+        if (rights == 0)
+            sb.append('-');
+        if ((rights & ChessMatch.WHITE_KINGSIDE) != 0) sb.append('K');
+        if ((rights & ChessMatch.WHITE_QUEENSIDE) != 0) sb.append('Q');
+        if ((rights & ChessMatch.BLACK_KINGSIDE) != 0) sb.append('k');
+        if ((rights & ChessMatch.BLACK_QUEENSIDE) != 0) sb.append('q');
+
+        sb.append(' ');
+        int pawnSquare = state.getEnPassantSquare();
+        if (pawnSquare < 0)
+            sb.append('-');
+        else {
+            // The target square is the one the pawn passed over
+            int target = pawnSquare + (state.getSideToMove() == Color.WHITE ? -ChessBoard.SIZE : ChessBoard.SIZE);
+            sb.append(Move.squareName(target));
+        }
+
+        sb.append(" 0 ").append((state.getTurn() + 1) / 2);
+        return sb.toString();
+    }
+
+    private static char pieceAt(GameState state, int square) {
+        long b = ChessBoard.bit(square);
+        for (Color color : COLORS) {
+            for (PieceType type : PIECE_TYPES) {
+                if ((state.getPieceMask(color, type) & b) != 0) {
+                    char c = LETTERS[type.ordinal()];
+                    return color == Color.WHITE ? Character.toUpperCase(c) : c;
+                }
+            }
+        }
+        return 0;
+    }
+
+    // Rights only survive when the king and rook still stand on their original squares
+    private static int availableRights(long[] pieces) {
+        long whiteKing = pieces[Color.WHITE.ordinal() * TYPES + PieceType.KING.ordinal()];
+        long whiteRooks = pieces[Color.WHITE.ordinal() * TYPES + PieceType.ROOK.ordinal()];
+        long blackKing = pieces[Color.BLACK.ordinal() * TYPES + PieceType.KING.ordinal()];
+        long blackRooks = pieces[Color.BLACK.ordinal() * TYPES + PieceType.ROOK.ordinal()];
+        int rights = 0;
+        if ((whiteKing & ChessBoard.bit(60)) != 0) {
+            if ((whiteRooks & ChessBoard.bit(63)) != 0) rights |= ChessMatch.WHITE_KINGSIDE;
+            if ((whiteRooks & ChessBoard.bit(56)) != 0) rights |= ChessMatch.WHITE_QUEENSIDE;
+        }
+        if ((blackKing & ChessBoard.bit(4)) != 0) {
+            if ((blackRooks & ChessBoard.bit(7)) != 0) rights |= ChessMatch.BLACK_KINGSIDE;
+            if ((blackRooks & ChessBoard.bit(0)) != 0) rights |= ChessMatch.BLACK_QUEENSIDE;
+        }
+        return rights;
+    }
+
+    // Same test as ChessBoard.isSquareAttacked, on the masks being parsed
+    private static boolean isAttacked(long[] pieces, int square, Color byColor) {
+        int base = byColor.ordinal() * TYPES;
+        Color defender = (byColor == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        long occupied = 0L;
+        for (long mask : pieces)
+            occupied |= mask;
+        long queens = pieces[base + PieceType.QUEEN.ordinal()];
+        return (Attacks.pawn(defender, square) & pieces[base + PieceType.PAWN.ordinal()]) != 0
+                || (Attacks.knight(square) & pieces[base + PieceType.KNIGHT.ordinal()]) != 0
+                || (Attacks.king(square) & pieces[base + PieceType.KING.ordinal()]) != 0
+                || (Attacks.rook(square, occupied) & (pieces[base + PieceType.ROOK.ordinal()] | queens)) != 0
+                || (Attacks.bishop(square, occupied) & (pieces[base + PieceType.BISHOP.ordinal()] | queens)) != 0;
+    }
+
+    private static int pieceType(char c) {
+        char lower = Character.toLowerCase(c);
+        for (int type = 0; type < LETTERS.length; type++) {
+            if (LETTERS[type] == lower)
+                return type;
+        }
+        return -1;
+    }
+
+    private static int skipSpaces(CharSequence fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ')
+            i++;
+        return i;
+    }
+
+    private static boolean isNumber(CharSequence fen, int i) {
+        if (i >= fen.length() || fen.charAt(i) == ' ')
+            return false;
+        for (; i < fen.length() && fen.charAt(i) != ' '; i++) {
+            if (!Character.isDigit(fen.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static int skipField(CharSequence fen, int i) {
+        while (i < fen.length() && fen.charAt(i) != ' ')
+            i++;
+        return i;
+    }
+
+    private static ChessException invalid(CharSequence fen, String reason) {
+        return new ChessException("FEN inválido (" + reason + "): " + fen);
+    }
+}
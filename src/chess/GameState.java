@@ -0,0 +1,83 @@
+package chess;
+
+import java.util.Arrays;
+
+public final class GameState {
+
+    private static final int COLORS = Color.values().length;
+    private static final int TYPES = PieceType.values().length;
+
+    private final long[] pieces;
+    private final Color sideToMove;
+    private final int castlingRights;
+    private final int enPassantSquare;
+    private final int turn;
+    private final boolean check;
+    private final boolean checkMate;
+
+    // pieces holds one mask per color and type, indexed color.ordinal() * 6 + type.ordinal();
+    // enPassantSquare is the square of the pawn that can be taken en passant, or -1
+    public GameState(long[] pieces, Color sideToMove, int castlingRights, int enPassantSquare, int turn,
+                     boolean check, boolean checkMate) {
+        if (pieces.length != COLORS * TYPES)
+            throw new IllegalArgumentException("Esperadas " + COLORS * TYPES + " máscaras de peças");
+        this.pieces = pieces.clone();
+        this.sideToMove = sideToMove;
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.turn = turn;
+        this.check = check;
+        this.checkMate = checkMate;
+    }
+
+    public long getPieceMask(Color color, PieceType type) {
+        return pieces[color.ordinal() * TYPES + type.ordinal()];
+    }
+
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public boolean isCheck() {
+        return check;
+    }
+
+    public boolean isCheckMate() {
+        return checkMate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof GameState))
+            return false;
+        GameState other = (GameState) o;
+        return sideToMove == other.sideToMove && castlingRights == other.castlingRights
+                && enPassantSquare == other.enPassantSquare && turn == other.turn
+                && check == other.check && checkMate == other.checkMate
+                && Arrays.equals(pieces, other.pieces);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(pieces);
+        result = 31 * result + sideToMove.hashCode();
+        result = 31 * result + castlingRights;
+        result = 31 * result + enPassantSquare;
+        result = 31 * result + turn;
+        return result;
+    }
+}
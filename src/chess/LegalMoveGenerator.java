@@ -0,0 +1,145 @@
+package chess;
+
+final class LegalMoveGenerator {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private final ChessBoard board;
+    private final PieceRegistry pieces;
+
+    private Color color;
+    private Color opponent;
+    private int kingSquare;
+    private long occupied;
+    private long checkers;
+    private long pinned;
+    private long evasions;
+    private int enPassantCaptured;
+    private int enPassantTarget;
+
+    LegalMoveGenerator(ChessBoard board, PieceRegistry pieces) {
+        this.board = board;
+        this.pieces = pieces;
+    }
+
+    // Computes checkers and pins for color once; legalTargets() is only valid until the board changes
+    void setup(Color color, ChessPiece enPassantVulnerable) {
+        this.color = color;
+        opponent = (color == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        kingSquare = pieces.king(color).getSquare();
+        occupied = board.getOccupied();
+        checkers = board.attackersTo(kingSquare, opponent, occupied);
+
+        if (checkers == 0)
+            evasions = ~0L;
+        else if ((checkers & (checkers - 1)) == 0)
+            evasions = checkers | Attacks.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+        else
+            evasions = 0L;
+
+        pinned = 0L;
+        long queens = board.getPieceMask(opponent, PieceType.QUEEN);
+        long snipers = (Attacks.rook(kingSquare, 0L) & (board.getPieceMask(opponent, PieceType.ROOK) | queens))
+                | (Attacks.bishop(kingSquare, 0L) & (board.getPieceMask(opponent, PieceType.BISHOP) | queens));
+        long own = board.getColorMask(color);
+        while (snipers != 0) {
+            long blockers = Attacks.between(kingSquare, Long.numberOfTrailingZeros(snipers)) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & own) != 0)
+                pinned |= blockers;
+            snipers &= snipers - 1;
+        }
+
+        enPassantCaptured = -1;
+        enPassantTarget = -1;
+        if (enPassantVulnerable != null && enPassantVulnerable.getColor() == opponent) {
+            enPassantCaptured = enPassantVulnerable.getSquare();
+            enPassantTarget = enPassantCaptured + (color == Color.WHITE ? -ChessBoard.SIZE : ChessBoard.SIZE);
+        }
+    }
+
+    boolean isCheck() {
+        return checkers != 0;
+    }
+
+    long legalTargets(ChessPiece piece) {
+        int from = piece.getSquare();
+        long mask = piece.possibleMovesMask();
+
+        if (piece.getType() == PieceType.KING) {
+            long legal = 0L;
+            long withoutKing = occupied ^ ChessBoard.bit(from);
+            while (mask != 0) {
+                int to = Long.numberOfTrailingZeros(mask);
+                if (board.attackersTo(to, opponent, withoutKing) == 0)
+                    legal |= ChessBoard.bit(to);
+                mask &= mask - 1;
+            }
+            return legal;
+        }
+
+        long enPassant = 0L;
+        if (enPassantTarget >= 0 && piece.getType() == PieceType.PAWN) {
+            enPassant = mask & ChessBoard.bit(enPassantTarget);
+            mask &= ~enPassant;
+            if (enPassant != 0 && !isLegalEnPassant(from))
+                enPassant = 0L;
+        }
+
+        mask &= evasions;
+        if ((pinned & ChessBoard.bit(from)) != 0)
+            mask &= Attacks.line(kingSquare, from);
+        return mask | enPassant;
+    }
+
+    // Both pawns leave their squares at once, which can expose the king along the rank,
+    // so the position after the capture is checked directly
+    private boolean isLegalEnPassant(int from) {
+        long captured = ChessBoard.bit(enPassantCaptured);
+        long after = occupied ^ ChessBoard.bit(from) ^ captured ^ ChessBoard.bit(enPassantTarget);
+        return (board.attackersTo(kingSquare, opponent, after) & ~captured) == 0;
+    }
+
+    int generate(int[] moves) {
+        int count = 0;
+        boolean doubleCheck = evasions == 0;
+        for (PieceType type : PIECE_TYPES) {
+            if (doubleCheck && type != PieceType.KING)
+                continue;
+            for (int k = 0; k < pieces.count(color, type); k++) {
+                ChessPiece piece = pieces.get(color, type, k);
+                int from = piece.getSquare();
+                long targets = legalTargets(piece);
+                while (targets != 0) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    int targetRow = to >>> 3;
+                    if (type == PieceType.PAWN && (targetRow == 0 || targetRow == ChessBoard.SIZE - 1)) {
+                        moves[count++] = Move.encode(from, to, PieceType.QUEEN);
+                        moves[count++] = Move.encode(from, to, PieceType.ROOK);
+                        moves[count++] = Move.encode(from, to, PieceType.BISHOP);
+                        moves[count++] = Move.encode(from, to, PieceType.KNIGHT);
+                    }
+                    else
+                        moves[count++] = Move.encode(from, to);
+                    targets &= targets - 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    boolean hasLegalMove() {
+        if (legalTargets(pieces.king(color)) != 0)
+            return true;
+        if (evasions == 0)
+            return false;
+        for (PieceType type : PIECE_TYPES) {
+            if (type == PieceType.KING)
+                continue;
+            for (int k = 0; k < pieces.count(color, type); k++) {
+                if (legalTargets(pieces.get(color, type, k)) != 0)
+                    return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package chess;
+
+public final class Move {
+
+    public static final int NONE = 0;
+
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final char[] PROMOTION_CHARS = {' ', 'n', 'b', 'r', 'q', ' '};
+
+    private Move() {
+    }
+
+    // Bits 0-5 source square, 6-11 target square, 12-14 promotion PieceType ordinal (0 = none)
+    public static int encode(int from, int to) {
+        return from | (to << 6);
+    }
+
+    public static int encode(int from, int to, PieceType promotion) {
+        return from | (to << 6) | (promotion.ordinal() << 12);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move >>> 12) != 0;
+    }
+
+    public static PieceType promotion(int move) {
+        int type = (move >>> 12) & 0x7;
+        return type == 0 ? null : TYPES[type];
+    }
+
+    public static String squareName(int square) {
+        return "" + (char) ('a' + (square & 7)) + (8 - (square >>> 3));
+    }
+
+    public static String toString(int move) {
+        String s = squareName(from(move)) + squareName(to(move));
+        if (isPromotion(move))
+            s += PROMOTION_CHARS[(move >>> 12) & 0x7];
+        return s;
+    }
+}
@@ -0,0 +1,26 @@
+package chess;
+
+// Outcome of ChessMatch.tryMove; the messages are the ones performChessMove throws with
+public enum MoveResult {
+
+    OK(null),
+    ILLEGAL_SOURCE("Não existe peça nessa posição"),
+    WRONG_COLOR("Esta peça pertence ao adversário"),
+    NO_MOVES("Não existem movimentos possiveis para esta peça!"),
+    ILLEGAL_TARGET("Não é possivel mover esta peça para a posição escolhida"),
+    SELF_CHECK("Você não pode se colocar em check!");
+
+    private final String message;
+
+    MoveResult(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isLegal() {
+        return this == OK;
+    }
+}
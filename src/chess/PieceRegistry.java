@@ -0,0 +1,68 @@
+package chess;
+
+import java.util.Arrays;
+
+public class PieceRegistry {
+
+    private static final int COLORS = Color.values().length;
+    private static final int TYPES = PieceType.values().length;
+    // Two originals plus eight promotions is the most any color can have of one type
+    private static final int SLOTS = 10;
+
+    private final ChessPiece[] pieces = new ChessPiece[COLORS * TYPES * SLOTS];
+    private final int[] counts = new int[COLORS * TYPES];
+
+    public void add(ChessPiece piece) {
+        int list = list(piece.getColor(), piece.getType());
+        int count = counts[list];
+        if (count == SLOTS)
+            throw new IllegalStateException("Peças demais do tipo " + piece.getType());
+        pieces[list * SLOTS + count] = piece;
+        piece.registryIndex = count;
+        counts[list] = count + 1;
+    }
+
+    public void remove(ChessPiece piece) {
+        int list = list(piece.getColor(), piece.getType());
+        int index = piece.registryIndex;
+        if (index < 0 || pieces[list * SLOTS + index] != piece)
+            throw new IllegalStateException("Peça não registrada no tabuleiro");
+        int last = --counts[list];
+        ChessPiece moved = pieces[list * SLOTS + last];
+        pieces[list * SLOTS + index] = moved;
+        moved.registryIndex = index;
+        pieces[list * SLOTS + last] = null;
+        piece.registryIndex = -1;
+    }
+
+    public void clear() {
+        Arrays.fill(pieces, null);
+        Arrays.fill(counts, 0);
+    }
+
+    public int count(Color color, PieceType type) {
+        return counts[list(color, type)];
+    }
+
+    public ChessPiece get(Color color, PieceType type, int index) {
+        return pieces[list(color, type) * SLOTS + index];
+    }
+
+    public ChessPiece king(Color color) {
+        int list = list(color, PieceType.KING);
+        if (counts[list] == 0)
+            throw new IllegalStateException("Não existe rei desta cor");
+        return pieces[list * SLOTS];
+    }
+
+    public int size(Color color) {
+        int size = 0;
+        for (int type = 0; type < TYPES; type++)
+            size += counts[color.ordinal() * TYPES + type];
+        return size;
+    }
+
+    private static int list(Color color, PieceType type) {
+        return color.ordinal() * TYPES + type.ordinal();
+    }
+}
@@ -0,0 +1,57 @@
+package chess;
+
+public final class Zobrist {
+
+    private static final long[][][] PIECES = new long[Color.values().length][PieceType.values().length][ChessBoard.SQUARES];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT = new long[ChessBoard.SIZE];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (long[][] color : PIECES) {
+            for (long[] type : color) {
+                for (int square = 0; square < type.length; square++) {
+                    seed += 0x9E3779B97F4A7C15L;
+                    type[square] = mix(seed);
+                }
+            }
+        }
+        for (int i = 0; i < CASTLING.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            CASTLING[i] = (i == 0) ? 0L : mix(seed);
+        }
+        for (int i = 0; i < EN_PASSANT.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            EN_PASSANT[i] = mix(seed);
+        }
+        seed += 0x9E3779B97F4A7C15L;
+        BLACK_TO_MOVE = mix(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(Color color, PieceType type, int square) {
+        return PIECES[color.ordinal()][type.ordinal()][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    public static long enPassant(int column) {
+        return EN_PASSANT[column];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,141 @@
+package chess.archive;
+
+import chess.ChessException;
+import chess.ChessMatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjIntConsumer;
+
+// Read-only view of an archive; moves are read straight from the mapped file and all methods are thread-safe
+public class GameArchive implements Closeable {
+
+    // Files are mapped in overlapping windows so that any record starting in a window ends inside it
+    private static final long WINDOW = 1L << 30;
+    private static final long OVERLAP = GameArchiveFormat.GAME_HEADER_SIZE + 2L
+            + GameArchiveFormat.MAX_FEN_LENGTH + 2L * GameArchiveFormat.MAX_MOVES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final long size;
+    private final int games;
+    private final long indexOffset;
+
+    private GameArchive(FileChannel channel) throws IOException {
+        this.channel = channel;
+        size = channel.size();
+        int count = (int) Math.max(1, (size + WINDOW - 1) / WINDOW);
+        windows = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = i * WINDOW;
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, WINDOW + OVERLAP));
+        }
+
+        if (size < GameArchiveFormat.HEADER_SIZE || windows[0].getInt(0) != GameArchiveFormat.MAGIC)
+            throw new ChessException("Arquivo de partidas inválido");
+        if (windows[0].getInt(4) != GameArchiveFormat.VERSION)
+            throw new ChessException("Versão de arquivo de partidas não suportada: " + windows[0].getInt(4));
+        long gameCount = windows[0].getLong(8);
+        if (gameCount > Integer.MAX_VALUE)
+            throw new ChessException("Partidas demais no arquivo: " + gameCount);
+        games = (int) gameCount;
+        indexOffset = windows[0].getLong(16);
+    }
+
+    public static GameArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new GameArchive(channel);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return games;
+    }
+
+    public int moveCount(int game) {
+        return getShort(offset(game)) & 0xFFFF;
+    }
+
+    public String result(int game) {
+        return GameArchiveFormat.RESULTS[getByte(offset(game) + 2) & 3];
+    }
+
+    public String fen(int game) {
+        long offset = offset(game);
+        if ((getByte(offset + 3) & GameArchiveFormat.FLAG_FEN) == 0)
+            return null;
+        int length = getShort(offset + GameArchiveFormat.GAME_HEADER_SIZE) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        long start = offset + GameArchiveFormat.GAME_HEADER_SIZE + 2;
+        for (int i = 0; i < length; i++)
+            bytes[i] = getByte(start + i);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // The move played at ply (from 0), in the chess.Move encoding
+    public int move(int game, int ply) {
+        return getShort(movesOffset(game) + 2L * ply) & 0x7FFF;
+    }
+
+    public ChessMatch replay(int game) {
+        return replay(game, null);
+    }
+
+    // Plays the game on a new match with makeMove; onMove, if given, sees the match after every move
+    public ChessMatch replay(int game, ObjIntConsumer<ChessMatch> onMove) {
+        String fen = fen(game);
+        ChessMatch match = fen == null ? new ChessMatch() : new ChessMatch(fen);
+        long offset = offset(game);
+        int count = getShort(offset) & 0xFFFF;
+        long movesOffset = movesOffset(game);
+        MappedByteBuffer window = windows[(int) (offset / WINDOW)];
+        int at = (int) (movesOffset - (offset / WINDOW) * WINDOW);
+        for (int ply = 0; ply < count; ply++) {
+            int move = window.getShort(at + 2 * ply) & 0x7FFF;
+            match.makeMove(move);
+            if (onMove != null)
+                onMove.accept(match, move);
+        }
+        return match;
+    }
+
+    private long offset(int game) {
+        if (game < 0 || game >= games)
+            throw new IndexOutOfBoundsException("Partida " + game + " fora do arquivo de " + games);
+        return getLong(indexOffset + 8L * game);
+    }
+
+    private long movesOffset(int game) {
+        long offset = offset(game);
+        if ((getByte(offset + 3) & GameArchiveFormat.FLAG_FEN) == 0)
+            return offset + GameArchiveFormat.GAME_HEADER_SIZE;
+        return offset + GameArchiveFormat.GAME_HEADER_SIZE + 2 + (getShort(offset + GameArchiveFormat.GAME_HEADER_SIZE) & 0xFFFF);
+    }
+
+    private byte getByte(long offset) {
+        return windows[(int) (offset / WINDOW)].get((int) (offset % WINDOW));
+    }
+
+    private short getShort(long offset) {
+        return windows[(int) (offset / WINDOW)].getShort((int) (offset % WINDOW));
+    }
+
+    private long getLong(long offset) {
+        return windows[(int) (offset / WINDOW)].getLong((int) (offset % WINDOW));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
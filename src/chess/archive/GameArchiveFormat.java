@@ -0,0 +1,31 @@
+package chess.archive;
+
+// File layout, all numbers big-endian:
+//   header  int magic, int version, long game count, long index offset
+//   games   short move count, byte result, byte flags, [short FEN length, FEN bytes], move count * short moves
+//   index   one long file offset per game
+// A move is the chess.Move encoding, which fits in 15 bits: from 0-5, to 6-11, promotion 12-14
+final class GameArchiveFormat {
+
+    static final int MAGIC = 0x58474131;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int GAME_HEADER_SIZE = 4;
+    static final int MAX_MOVES = 0xFFFF;
+    static final int MAX_FEN_LENGTH = 0xFFFF;
+
+    static final int FLAG_FEN = 1;
+
+    static final String[] RESULTS = {"*", "1-0", "0-1", "1/2-1/2"};
+
+    private GameArchiveFormat() {
+    }
+
+    static int resultCode(String result) {
+        for (int i = 0; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result))
+                return i;
+        }
+        return 0;
+    }
+}
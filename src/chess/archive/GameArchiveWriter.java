@@ -0,0 +1,142 @@
+package chess.archive;
+
+import chess.ChessMatch;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.San;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class GameArchiveWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final int[] moves = new int[GameArchiveFormat.MAX_MOVES];
+    private final int[] scratch = new int[ChessMatch.MAX_MOVES];
+    private long[] offsets = new long[1024];
+    private int games;
+    private long position = GameArchiveFormat.HEADER_SIZE;
+
+    public GameArchiveWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(GameArchiveFormat.HEADER_SIZE);
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    // moves use the chess.Move encoding; fen is null for games from the initial position
+    public void addGame(int[] moves, int count, String result, String fen) throws IOException {
+        if (count > GameArchiveFormat.MAX_MOVES)
+            throw new IllegalArgumentException("Jogo longo demais: " + count + " lances");
+        byte[] fenBytes = fen == null ? null : fen.getBytes(StandardCharsets.US_ASCII);
+        if (fenBytes != null && fenBytes.length > GameArchiveFormat.MAX_FEN_LENGTH)
+            throw new IllegalArgumentException("FEN longo demais");
+
+        if (games == offsets.length)
+            offsets = Arrays.copyOf(offsets, games * 2);
+        offsets[games++] = position;
+
+        ensure(GameArchiveFormat.GAME_HEADER_SIZE + 2);
+        buffer.putShort((short) count);
+        buffer.put((byte) GameArchiveFormat.resultCode(result));
+        buffer.put((byte) (fenBytes == null ? 0 : GameArchiveFormat.FLAG_FEN));
+        position += GameArchiveFormat.GAME_HEADER_SIZE;
+        if (fenBytes != null) {
+            buffer.putShort((short) fenBytes.length);
+            position += 2;
+            put(fenBytes);
+        }
+        for (int i = 0; i < count; i++) {
+            ensure(2);
+            buffer.putShort((short) moves[i]);
+        }
+        position += 2L * count;
+    }
+
+    // Resolves the SAN moves on a scratch match; throws ChessException if a move is not legal
+    public void addGame(PgnGame game) throws IOException {
+        ChessMatch match = game.newMatch();
+        int count = 0;
+        for (String san : game.getMoves()) {
+            int move = San.parse(match, san, scratch);
+            match.makeMove(move);
+            moves[count++] = move;
+        }
+        addGame(moves, count, game.getResult(), game.getTag("FEN"));
+    }
+
+    // Copies every readable game of a PGN stream and returns how many were skipped
+    public long addAll(PgnReader reader) throws IOException {
+        long skipped = 0;
+        PgnGame game;
+        while ((game = reader.next()) != null) {
+            try {
+                addGame(game);
+            }
+            catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = position;
+            for (int i = 0; i < games; i++) {
+                ensure(8);
+                buffer.putLong(offsets[i]);
+            }
+            flush();
+
+            buffer.putInt(GameArchiveFormat.MAGIC);
+            buffer.putInt(GameArchiveFormat.VERSION);
+            buffer.putLong(games);
+            buffer.putLong(indexOffset);
+            buffer.flip();
+            long at = 0;
+            while (buffer.hasRemaining())
+                at += channel.write(buffer, at);
+            buffer.clear();
+        }
+        finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package chess.book;
+
+import chess.Move;
+
+public class BookMove {
+
+    private final int move;
+    private final int weight;
+
+    public BookMove(int move, int weight) {
+        this.move = move;
+        this.weight = weight;
+    }
+
+    // In the chess.Move encoding
+    public int getMove() {
+        return move;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return Move.toString(move) + " (" + weight + ")";
+    }
+}
@@ -0,0 +1,154 @@
+package chess.book;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Move;
+import chess.PieceType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+// Polyglot .bin book: 16-byte big-endian entries (key, move, weight, learn) sorted by key, searched in place
+public class OpeningBook implements Closeable {
+
+    static final int ENTRY_SIZE = 16;
+    // A single mapping is limited to 2 GiB, which also keeps index * ENTRY_SIZE within an int
+    static final long MAX_BYTES = Integer.MAX_VALUE / ENTRY_SIZE * ENTRY_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int size;
+    private final ToLongFunction<ChessMatch> keys;
+
+    private OpeningBook(FileChannel channel, ToLongFunction<ChessMatch> keys) throws IOException {
+        if (channel.size() % ENTRY_SIZE != 0)
+            throw new IOException("Tamanho de livro de aberturas inválido: " + channel.size());
+        if (channel.size() > MAX_BYTES)
+            throw new IOException("Livro de aberturas maior que o limite de 2 GiB: " + channel.size() + " bytes");
+        this.channel = channel;
+        this.keys = keys;
+        entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        size = (int) (channel.size() / ENTRY_SIZE);
+    }
+
+    // Books written by OpeningBookBuilder with its default keys
+    public static OpeningBook open(Path path) throws IOException {
+        return open(path, ChessMatch::getZobristKey);
+    }
+
+    // keys must be the same function the book was built with, e.g. PolyglotKeys for standard Polyglot books
+    public static OpeningBook open(Path path, ToLongFunction<ChessMatch> keys) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new OpeningBook(channel, keys);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Legal book moves for the side to move, heaviest first; empty when the position is not in the book
+    public List<BookMove> candidates(ChessMatch match) {
+        long key = keys.applyAsLong(match);
+        int index = firstEntry(key);
+        if (index < 0)
+            return Collections.emptyList();
+
+        int[] legal = new int[ChessMatch.MAX_MOVES];
+        int count = match.legalMoves(legal);
+        List<BookMove> moves = new ArrayList<>();
+        for (; index < size && key(index) == key; index++) {
+            int move = fromPolyglot(entries.getShort(index * ENTRY_SIZE + 8) & 0xFFFF, match);
+            int weight = entries.getShort(index * ENTRY_SIZE + 10) & 0xFFFF;
+            if (weight > 0 && contains(legal, count, move))
+                moves.add(new BookMove(move, weight));
+        }
+        moves.sort((a, b) -> Integer.compare(b.getWeight(), a.getWeight()));
+        return moves;
+    }
+
+    // Picks a candidate with probability proportional to its weight, or Move.NONE when out of book
+    public int pick(ChessMatch match, Random random) {
+        List<BookMove> moves = candidates(match);
+        int total = 0;
+        for (BookMove m : moves)
+            total += m.getWeight();
+        if (total == 0)
+            return Move.NONE;
+        int r = random.nextInt(total);
+        for (BookMove m : moves) {
+            r -= m.getWeight();
+            if (r < 0)
+                return m.getMove();
+        }
+        return moves.get(0).getMove();
+    }
+
+    private int firstEntry(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(key(mid), key) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return (low < size && key(low) == key) ? low : -1;
+    }
+
+    private long key(int index) {
+        return entries.getLong(index * ENTRY_SIZE);
+    }
+
+    private static boolean contains(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move)
+                return true;
+        }
+        return false;
+    }
+
+    // Polyglot moves: to file 0-2, to row 3-5, from file 6-8, from row 9-11 (row 0 = rank 1),
+    // promotion 12-14 with the same piece numbers as PieceType; castling is written as king takes rook
+    static int toPolyglot(int move, ChessMatch match) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = match.piece(from);
+        if (piece != null && piece.getType() == PieceType.KING && Math.abs(to - from) == 2)
+            to = to > from ? to + 1 : to - 2;
+        int promotion = Move.isPromotion(move) ? Move.promotion(move).ordinal() : 0;
+        return (to & 7) | ((7 - (to >>> 3)) << 3) | ((from & 7) << 6) | ((7 - (from >>> 3)) << 9) | (promotion << 12);
+    }
+
+    static int fromPolyglot(int polyglot, ChessMatch match) {
+        int to = (7 - ((polyglot >>> 3) & 7)) * 8 + (polyglot & 7);
+        int from = (7 - ((polyglot >>> 9) & 7)) * 8 + ((polyglot >>> 6) & 7);
+        int promotion = (polyglot >>> 12) & 7;
+        ChessPiece piece = match.piece(from);
+        if (piece != null && piece.getType() == PieceType.KING && (from & 7) == 4 && (to == from + 3 || to == from - 4))
+            to = to > from ? from + 2 : from - 2;
+        if (promotion == 0 || promotion > PieceType.QUEEN.ordinal())
+            return Move.encode(from, to);
+        return Move.encode(from, to, PieceType.values()[promotion]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,136 @@
+package chess.book;
+
+import chess.ChessMatch;
+import chess.Color;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.San;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+// Collects the first plies of a game corpus and writes them as a Polyglot book.
+// A move weighs two points per win and one per draw for the side that played it
+public class OpeningBookBuilder {
+
+    private static final int MAX_WEIGHT = 0xFFFF;
+
+    private final int maxPly;
+    private final int minGames;
+    private final ToLongFunction<ChessMatch> keys;
+    private final Map<Long, Map<Integer, int[]>> positions = new HashMap<>();
+    private final int[] scratch = new int[ChessMatch.MAX_MOVES];
+    private long games;
+
+    public OpeningBookBuilder(int maxPly, int minGames) {
+        this(maxPly, minGames, ChessMatch::getZobristKey);
+    }
+
+    public OpeningBookBuilder(int maxPly, int minGames, ToLongFunction<ChessMatch> keys) {
+        this.maxPly = maxPly;
+        this.minGames = minGames;
+        this.keys = keys;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    // Games that do not start from the initial position are left out; throws ChessException on an illegal move
+    public void add(PgnGame game) {
+        if (game.getTag("FEN") != null)
+            return;
+        ChessMatch match = new ChessMatch();
+        int whiteScore = score(game.getResult());
+        List<String> moves = game.getMoves();
+        int plies = Math.min(maxPly, moves.size());
+        for (int ply = 0; ply < plies; ply++) {
+            int move = San.parse(match, moves.get(ply), scratch);
+            long key = keys.applyAsLong(match);
+            int polyglot = OpeningBook.toPolyglot(move, match);
+            int score = match.getCurrentPlayer() == Color.WHITE ? whiteScore : 2 - whiteScore;
+            int[] stats = positions.computeIfAbsent(key, k -> new HashMap<>(4))
+                    .computeIfAbsent(polyglot, m -> new int[2]);
+            stats[0]++;
+            stats[1] += score;
+            match.makeMove(move);
+        }
+        games++;
+    }
+
+    // Adds every readable game and returns how many were skipped
+    public long addAll(PgnReader reader) throws IOException {
+        long skipped = 0;
+        PgnGame game;
+        while ((game = reader.next()) != null) {
+            try {
+                add(game);
+            }
+            catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    // Returns the number of entries written
+    public int write(Path path) throws IOException {
+        List<Long> sortedKeys = new ArrayList<>(positions.keySet());
+        sortedKeys.sort(Long::compareUnsigned);
+
+        int written = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.ENTRY_SIZE * 4096);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long key : sortedKeys) {
+                List<int[]> entries = new ArrayList<>();
+                int maxScore = 0;
+                for (Map.Entry<Integer, int[]> e : positions.get(key).entrySet()) {
+                    int[] stats = e.getValue();
+                    if (stats[0] < minGames || stats[1] == 0)
+                        continue;
+                    entries.add(new int[]{e.getKey(), stats[1]});
+                    maxScore = Math.max(maxScore, stats[1]);
+                }
+                entries.sort((a, b) -> Integer.compare(b[1], a[1]));
+                for (int[] entry : entries) {
+                    // Scores that overflow 16 bits are scaled down, keeping every move at weight 1 or more
+                    long weight = maxScore <= MAX_WEIGHT ? entry[1] : Math.max(1L, (long) entry[1] * MAX_WEIGHT / maxScore);
+                    if (buffer.remaining() < OpeningBook.ENTRY_SIZE)
+                        flush(buffer, channel);
+                    buffer.putLong(key);
+                    buffer.putShort((short) entry[0]);
+                    buffer.putShort((short) weight);
+                    buffer.putInt(0);
+                    written++;
+                }
+            }
+            flush(buffer, channel);
+        }
+        return written;
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // White's score in half points
+    private static int score(String result) {
+        switch (result) {
+            case "1-0": return 2;
+            case "0-1": return 0;
+            default: return 1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package chess.book;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Color;
+import chess.PieceType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.ToLongFunction;
+
+// Polyglot position keys computed from a Random64 table of 781 values, loaded from a file of big-endian longs.
+// With the standard table these keys match books made by other Polyglot tools
+public class PolyglotKeys implements ToLongFunction<ChessMatch> {
+
+    public static final int TABLE_SIZE = 781;
+
+    private static final int CASTLING = 768;
+    private static final int EN_PASSANT = 772;
+    private static final int TURN = 780;
+    private static final Color[] COLORS = Color.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private final long[] random64;
+
+    public PolyglotKeys(long[] random64) {
+        if (random64.length != TABLE_SIZE)
+            throw new IllegalArgumentException("Tabela Random64 deve ter " + TABLE_SIZE + " valores");
+        this.random64 = random64.clone();
+    }
+
+    public static PolyglotKeys load(Path path) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (bytes.remaining() != TABLE_SIZE * 8)
+            throw new IOException("Tabela Random64 deve ter " + TABLE_SIZE * 8 + " bytes");
+        long[] table = new long[TABLE_SIZE];
+        for (int i = 0; i < TABLE_SIZE; i++)
+            table[i] = bytes.getLong();
+        return new PolyglotKeys(table);
+    }
+
+    @Override
+    public long applyAsLong(ChessMatch match) {
+        long key = 0L;
+        for (Color color : COLORS) {
+            for (PieceType type : PIECE_TYPES) {
+                int kind = 2 * type.ordinal() + (color == Color.WHITE ? 1 : 0);
+                long mask = match.getPieceMask(color, type);
+                while (mask != 0) {
+                    // Polyglot counts rows from rank 1, the board counts them from rank 8
+                    int square = Long.numberOfTrailingZeros(mask) ^ 56;
+                    key ^= random64[64 * kind + square];
+                    mask &= mask - 1;
+                }
+            }
+        }
+
+        int rights = match.getCastlingRights();
+        if ((rights & ChessMatch.WHITE_KINGSIDE) != 0) key ^= random64[CASTLING];
+        if ((rights & ChessMatch.WHITE_QUEENSIDE) != 0) key ^= random64[CASTLING + 1];
+        if ((rights & ChessMatch.BLACK_KINGSIDE) != 0) key ^= random64[CASTLING + 2];
+        if ((rights & ChessMatch.BLACK_QUEENSIDE) != 0) key ^= random64[CASTLING + 3];
+
+        // The en passant file only counts when a pawn of the side to move stands next to the pawn
+        ChessPiece vulnerable = match.getEnPassantVulnerable();
+        if (vulnerable != null) {
+            int square = vulnerable.getChessPosition().getColumn() - 'a';
+            int pawnSquare = (8 - vulnerable.getChessPosition().getRow()) * 8 + square;
+            long neighbours = 0L;
+            if (square > 0)
+                neighbours |= 1L << (pawnSquare - 1);
+            if (square < 7)
+                neighbours |= 1L << (pawnSquare + 1);
+            if ((match.getPieceMask(match.getCurrentPlayer(), PieceType.PAWN) & neighbours) != 0)
+                key ^= random64[EN_PASSANT + square];
+        }
+
+        if (match.getCurrentPlayer() == Color.WHITE)
+            key ^= random64[TURN];
+        return key;
+    }
+}
@@ -0,0 +1,170 @@
+package chess.engine;
+
+import chess.ChessMatch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Searches a stream of positions on a fixed pool. Each worker thread keeps one ChessMatch, loading every
+// position into it, and its own Search and transposition table. Results reach the consumer in input
+// order; at most a fixed window of positions is in flight or waiting for an earlier one, so memory
+// does not grow with the input
+public class BatchAnalyzer {
+
+    // Positions read ahead per worker before the reader waits
+    private static final int WINDOW_PER_THREAD = 16;
+
+    private final int threads;
+    private final SearchLimits limits;
+    private final int hashMb;
+    private final LongAdder positions = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public BatchAnalyzer(int threads, SearchLimits limits, int hashMb) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Número de threads deve ser ao menos 1");
+        this.threads = threads;
+        this.limits = limits;
+        this.hashMb = hashMb;
+    }
+
+    public List<PositionAnalysis> analyze(List<String> input) throws InterruptedException {
+        List<PositionAnalysis> results = new ArrayList<>(input.size());
+        analyze(input.iterator(), results::add);
+        return results;
+    }
+
+    // One FEN or EPD record per line; blank lines and lines starting with '#' are skipped
+    public long analyze(Path file, Consumer<PositionAnalysis> consumer) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Iterator<String> lines = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .iterator();
+            return analyze(lines, consumer);
+        }
+    }
+
+    // The consumer is called from the worker threads, one call at a time and in input order.
+    // Returns the number of positions analyzed
+    public long analyze(Iterator<String> input, Consumer<PositionAnalysis> consumer) throws InterruptedException {
+        int window = threads * WINDOW_PER_THREAD;
+        Semaphore slots = new Semaphore(window);
+        Emitter emitter = new Emitter(window, consumer, slots);
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> new Worker(new TranspositionTable(hashMb)));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-analysis");
+            t.setDaemon(true);
+            return t;
+        });
+        long count = 0;
+        try {
+            // Once the consumer has failed nothing more is handed out, so no further positions are read or searched
+            while (emitter.failure == null && input.hasNext()) {
+                String position = input.next();
+                slots.acquire();
+                long index = count++;
+                executor.execute(() -> {
+                    if (emitter.failure == null)
+                        emitter.complete(workers.get().analyze(index, position));
+                });
+            }
+        }
+        finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        if (emitter.failure != null)
+            throw emitter.failure;
+        return count;
+    }
+
+    // Live counters, for progress reports while analyze() is going
+    public long getPositions() {
+        return positions.sum();
+    }
+
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    private final class Worker {
+
+        private final ChessMatch match = new ChessMatch();
+        private final TranspositionTable tt;
+        private final Search search;
+
+        Worker(TranspositionTable tt) {
+            this.tt = tt;
+            search = new Search(tt);
+        }
+
+        PositionAnalysis analyze(long index, String position) {
+            try {
+                match.load(position);
+                // A fresh table per position keeps results independent of which worker ran them
+                tt.clear();
+                SearchResult result = search.search(match, limits);
+                positions.increment();
+                nodes.add(result.getNodes());
+                return new PositionAnalysis(index, position, result, null);
+            }
+            catch (RuntimeException e) {
+                positions.increment();
+                errors.increment();
+                return new PositionAnalysis(index, position, null, e.getMessage());
+            }
+        }
+    }
+
+    // Reorders finished analyses: each waits in its window slot until every earlier one has been handed out
+    private static final class Emitter {
+
+        private final PositionAnalysis[] pending;
+        private final Consumer<PositionAnalysis> consumer;
+        private final Semaphore slots;
+        private long next;
+        private volatile RuntimeException failure;
+
+        Emitter(int window, Consumer<PositionAnalysis> consumer, Semaphore slots) {
+            pending = new PositionAnalysis[window];
+            this.consumer = consumer;
+            this.slots = slots;
+        }
+
+        synchronized void complete(PositionAnalysis analysis) {
+            pending[(int) (analysis.getIndex() % pending.length)] = analysis;
+            int slot;
+            while (pending[slot = (int) (next % pending.length)] != null) {
+                PositionAnalysis ready = pending[slot];
+                pending[slot] = null;
+                next++;
+                try {
+                    if (failure == null)
+                        consumer.accept(ready);
+                }
+                catch (RuntimeException e) {
+                    failure = e;
+                }
+                slots.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.GameState;
+import chess.tablebase.Tablebases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public class ParallelSearch implements AutoCloseable {
+
+    private final TranspositionTable tt;
+    private final Search main;
+    private final Search[] helpers;
+    private final ExecutorService executor;
+    // Set by stop() and only cleared by prepare(), so a stop that lands before search() starts still counts
+    private volatile boolean stopRequested;
+
+    public ParallelSearch(TranspositionTable tt, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Número de threads deve ser ao menos 1");
+        this.tt = tt;
+        main = new Search(tt, 0);
+        helpers = new Search[threads - 1];
+        for (int i = 0; i < helpers.length; i++)
+            helpers[i] = new Search(tt, i + 1);
+        executor = helpers.length == 0 ? null : Executors.newFixedThreadPool(helpers.length, r -> {
+            Thread t = new Thread(r, "search-helper");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Only the main thread reports its iterations
+    public void setListener(Consumer<SearchResult> listener) {
+        main.setListener(listener);
+    }
+
+    public void setTablebases(Tablebases tablebases) {
+        main.setTablebases(tablebases);
+        for (Search helper : helpers)
+            helper.setTablebases(tablebases);
+    }
+
+    // Must not be called while searching
+    public void clearHash() {
+        tt.clear();
+    }
+
+    public int hashfull() {
+        return tt.hashfull();
+    }
+
+    public int getThreads() {
+        return helpers.length + 1;
+    }
+
+    // Clears a stop() left over from an earlier search. When search() runs on another thread, call this on the
+    // controlling thread before starting it: search() keeps a pending stop rather than resetting it
+    public void prepare() {
+        stopRequested = false;
+    }
+
+    // Helpers rebuild private matches from an immutable snapshot and only share the transposition table;
+    // the main thread's result is returned once it completes, and the helpers are then stopped
+    public SearchResult search(ChessMatch match, SearchLimits limits) {
+        tt.newSearch();
+        // Resets the per-thread flags, which also record reached limits, then re-applies a pending stop.
+        // A stop() after this point reaches main directly
+        main.prepare();
+        if (stopRequested)
+            main.stop();
+        SearchLimits helperLimits = new SearchLimits(SearchLimits.MAX_DEPTH, limits.getTimeMillis(), 0L);
+        GameState state = match.snapshot();
+        List<Future<SearchResult>> futures = new ArrayList<>(helpers.length);
+        for (Search helper : helpers) {
+            helper.prepare();
+            futures.add(executor.submit(() -> helper.iterate(new ChessMatch(state), helperLimits)));
+        }
+
+        SearchResult result;
+        try {
+            result = main.iterate(match, limits);
+        }
+        finally {
+            for (Search helper : helpers)
+                helper.stop();
+        }
+
+        long nodes = result.getNodes();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException e) {
+                throw new IllegalStateException("Erro na thread auxiliar de busca", e.getCause());
+            }
+            nodes += helpers[i].getNodes();
+        }
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(),
+                result.getPrincipalVariation(), nodes, result.getNanos());
+    }
+
+    public void stop() {
+        stopRequested = true;
+        main.stop();
+        for (Search helper : helpers)
+            helper.stop();
+    }
+
+    @Override
+    public void close() {
+        stop();
+        if (executor != null)
+            executor.shutdownNow();
+    }
+}
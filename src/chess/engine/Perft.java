@@ -0,0 +1,145 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.GameState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class Perft {
+
+    // Node counts from the initial position for depths 0 to 7
+    public static final long[] INITIAL_POSITION_COUNTS = {
+            1L, 20L, 400L, 8902L, 197281L, 4865609L, 119060324L, 3195901860L
+    };
+
+    private static final int SPLIT_DEPTH = 4;
+
+    private Perft() {
+    }
+
+    public static long perft(ChessMatch match, int depth) {
+        int[][] buffers = new int[Math.max(depth, 1)][ChessMatch.MAX_MOVES];
+        return perft(match, depth, buffers);
+    }
+
+    private static long perft(ChessMatch match, int depth, int[][] buffers) {
+        if (depth == 0)
+            return 1L;
+        int[] moves = buffers[depth - 1];
+        int count = match.legalMoves(moves);
+        if (depth == 1)
+            return count;
+
+        long nodes = 0L;
+        for (int i = 0; i < count; i++) {
+            match.makeMove(moves[i]);
+            nodes += perft(match, depth - 1, buffers);
+            match.undoMove(moves[i]);
+        }
+        return nodes;
+    }
+
+    public static Result divide(ChessMatch match, int depth, ForkJoinPool pool) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Profundidade deve ser ao menos 1");
+
+        long start = System.nanoTime();
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        int count = match.legalMoves(moves);
+
+        GameState state = match.snapshot();
+        List<PerftTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            tasks.add(new PerftTask(state, moves[i], depth - 1));
+
+        for (PerftTask task : tasks)
+            pool.execute(task);
+
+        long[] counts = new long[count];
+        long nodes = 0L;
+        for (int i = 0; i < count; i++) {
+            counts[i] = tasks.get(i).join();
+            nodes += counts[i];
+        }
+        return new Result(Arrays.copyOf(moves, count), counts, nodes, System.nanoTime() - start);
+    }
+
+    public static Result divide(ChessMatch match, int depth) {
+        return divide(match, depth, ForkJoinPool.commonPool());
+    }
+
+    private static class PerftTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GameState state;
+        private final int move;
+        private final int depth;
+
+        PerftTask(GameState state, int move, int depth) {
+            this.state = state;
+            this.move = move;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            ChessMatch match = new ChessMatch(state);
+            match.makeMove(move);
+            if (depth < SPLIT_DEPTH)
+                return perft(match, depth);
+
+            int[] moves = new int[ChessMatch.MAX_MOVES];
+            int count = match.legalMoves(moves);
+            GameState next = match.snapshot();
+            List<PerftTask> children = new ArrayList<>(count);
+            for (int i = 0; i < count; i++)
+                children.add(new PerftTask(next, moves[i], depth - 1));
+            invokeAll(children);
+
+            long nodes = 0L;
+            for (PerftTask child : children)
+                nodes += child.join();
+            return nodes;
+        }
+    }
+
+    public static class Result {
+
+        private final int[] moves;
+        private final long[] counts;
+        private final long nodes;
+        private final long nanos;
+
+        public Result(int[] moves, long[] counts, long nodes, long nanos) {
+            this.moves = moves;
+            this.counts = counts;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        public int[] getMoves() {
+            return moves;
+        }
+
+        public long[] getCounts() {
+            return counts;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getNodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package chess.engine;
+
+import chess.Move;
+
+public class PositionAnalysis {
+
+    private final long index;
+    private final String position;
+    private final SearchResult result;
+    private final String error;
+
+    PositionAnalysis(long index, String position, SearchResult result, String error) {
+        this.index = index;
+        this.position = position;
+        this.result = result;
+        this.error = error;
+    }
+
+    // Order of the position in the input, from 0
+    public long getIndex() {
+        return index;
+    }
+
+    // The FEN or EPD record as given
+    public String getPosition() {
+        return position;
+    }
+
+    // Null when the position could not be read
+    public SearchResult getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isError() {
+        return error != null;
+    }
+
+    @Override
+    public String toString() {
+        if (error != null)
+            return index + " erro: " + error;
+        String score = Search.isMateScore(result.getScore()) ? "mate " + Search.mateInMoves(result.getScore())
+                : "cp " + result.getScore();
+        return index + " " + (result.getBestMove() == Move.NONE ? "-" : Move.toString(result.getBestMove()))
+                + " " + score + " profundidade " + result.getDepth() + " nós " + result.getNodes();
+    }
+}
@@ -0,0 +1,402 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Color;
+import chess.Evaluation;
+import chess.Move;
+import chess.PieceType;
+import chess.metrics.SearchIterationEvent;
+import chess.tablebase.Material;
+import chess.tablebase.TablebaseResult;
+import chess.tablebase.Tablebases;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class Search {
+
+    public static final int MAX_PLY = 128;
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;
+    // Tablebase mates can sit up to MAX_PLY plies beyond the search horizon
+    private static final int MATE_BOUND = MATE - 2 * MAX_PLY;
+
+    // Lazy SMP helper depth skipping: helper i skips depths where ((depth + phase) / size) is odd
+    private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+    private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    private final TranspositionTable tt;
+    private final int[][] moveBuffers = new int[MAX_PLY][ChessMatch.MAX_MOVES];
+    private final int[][] moveScores = new int[MAX_PLY][ChessMatch.MAX_MOVES];
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[64][64];
+    private final long[] keys = new long[MAX_PLY];
+    private final int helperIndex;
+
+    private Tablebases tablebases;
+    private Consumer<SearchResult> listener;
+    private ChessMatch match;
+    private volatile boolean stopped;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+
+    public Search(TranspositionTable tt) {
+        this(tt, 0);
+    }
+
+    // helperIndex 0 is the main thread; helpers 1..n stagger their iterative deepening depths
+    Search(TranspositionTable tt, int helperIndex) {
+        this.tt = tt;
+        this.helperIndex = helperIndex;
+    }
+
+    // Moves until mate for a mate score, negative when the side to move is the one mated
+    public static int mateInMoves(int score) {
+        return score > 0 ? (MATE - score + 1) / 2 : -(MATE + score) / 2;
+    }
+
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE_BOUND;
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    // Called on the searching thread after every completed iteration
+    public void setListener(Consumer<SearchResult> listener) {
+        this.listener = listener;
+    }
+
+    // Positions covered by the tables are scored exactly instead of searched; null turns probing off
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public SearchResult search(ChessMatch match, SearchLimits limits) {
+        prepare();
+        tt.newSearch();
+        return iterate(match, limits);
+    }
+
+    void prepare() {
+        stopped = false;
+    }
+
+    SearchResult iterate(ChessMatch match, SearchLimits limits) {
+        this.match = match;
+        long start = System.nanoTime();
+        nodes = 0L;
+        nodeLimit = limits.getNodes();
+        deadline = limits.getTimeMillis() > 0 ? start + limits.getTimeMillis() * 1_000_000L : Long.MAX_VALUE;
+        for (int[] k : killers)
+            Arrays.fill(k, Move.NONE);
+        for (int[] h : history)
+            Arrays.fill(h, 0);
+
+        if (tablebases != null) {
+            TablebaseResult probe = tablebases.probe(match);
+            int move = probe == null ? Move.NONE : tablebases.bestMove(match);
+            if (move != Move.NONE) {
+                SearchResult result = new SearchResult(move, tablebaseScore(probe, 0), 0, new int[]{move}, nodes,
+                        System.nanoTime() - start);
+                if (listener != null)
+                    listener.accept(result);
+                return result;
+            }
+        }
+
+        SearchResult result = null;
+        for (int depth = 1; depth <= limits.getDepth(); depth++) {
+            if (helperIndex > 0 && depth > 1 && skipDepth(depth))
+                continue;
+            SearchIterationEvent event = new SearchIterationEvent();
+            event.begin();
+            int score = search(depth, -INFINITY, INFINITY, 0, true);
+            if (event.shouldCommit()) {
+                event.depth = depth;
+                event.helper = helperIndex;
+                event.score = score;
+                event.nodes = nodes;
+                event.bestMove = pvLength[0] > 0 ? Move.toString(pvTable[0][0]) : null;
+                event.completed = !stopped;
+                event.commit();
+            }
+            if (stopped && result != null)
+                break;
+            if (pvLength[0] > 0) {
+                int[] pv = Arrays.copyOf(pvTable[0], pvLength[0]);
+                result = new SearchResult(pv[0], score, depth, pv, nodes, System.nanoTime() - start);
+                if (listener != null && !stopped)
+                    listener.accept(result);
+            }
+            if (stopped || isMateScore(score))
+                break;
+        }
+
+        if (result == null) {
+            int[] moves = moveBuffers[0];
+            int count = match.legalMoves(moves);
+            int bestMove = count > 0 ? moves[0] : Move.NONE;
+            int score = count > 0 ? 0 : (match.isCheck() ? -MATE : 0);
+            result = new SearchResult(bestMove, score, 0, count > 0 ? new int[]{bestMove} : new int[0],
+                    nodes, System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private boolean skipDepth(int depth) {
+        int i = (helperIndex - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[i]) / SKIP_SIZE[i]) % 2 != 0;
+    }
+
+    private int search(int depth, int alpha, int beta, int ply, boolean pvNode) {
+        pvLength[ply] = ply;
+        if ((++nodes & 1023) == 0)
+            checkLimits();
+        if (stopped)
+            return 0;
+
+        long key = match.getZobristKey();
+        keys[ply] = key;
+        if (ply > 0 && isRepetition(key, ply))
+            return 0;
+        if (ply > 0 && tablebases != null && Long.bitCount(match.getOccupied()) <= Material.MAX_PIECES) {
+            TablebaseResult probe = tablebases.probe(match);
+            if (probe != null)
+                return tablebaseScore(probe, ply);
+        }
+
+        boolean inCheck = match.isCheck();
+        if (inCheck)
+            depth++;
+        if (depth <= 0)
+            return quiescence(alpha, beta, ply);
+        if (ply >= MAX_PLY - 1)
+            return evaluate();
+
+        int ttMove = Move.NONE;
+        long entry = tt.probe(key);
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (!pvNode && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTT(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha))
+                    return score;
+            }
+        }
+
+        int[] moves = moveBuffers[ply];
+        int count = match.legalMoves(moves);
+        if (count == 0)
+            return inCheck ? -MATE + ply : 0;
+        scoreMoves(moves, moveScores[ply], count, ttMove, ply);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(moves, moveScores[ply], count, i);
+            boolean quiet = !isCapture(move) && !Move.isPromotion(move);
+
+            match.makeMove(move);
+            int score;
+            if (i == 0)
+                score = -search(depth - 1, -beta, -alpha, ply + 1, pvNode);
+            else {
+                score = -search(depth - 1, -alpha - 1, -alpha, ply + 1, false);
+                if (score > alpha && score < beta)
+                    score = -search(depth - 1, -beta, -alpha, ply + 1, true);
+            }
+            match.undoMove(move);
+
+            if (stopped)
+                return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        if (quiet) {
+                            if (killers[ply][0] != move) {
+                                killers[ply][1] = killers[ply][0];
+                                killers[ply][0] = move;
+                            }
+                            history[Move.from(move)][Move.to(move)] += depth * depth;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        tt.store(key, bestMove, toTT(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        if ((++nodes & 1023) == 0)
+            checkLimits();
+        if (stopped)
+            return 0;
+
+        boolean inCheck = match.isCheck();
+        if (ply >= MAX_PLY - 1)
+            return evaluate();
+
+        int[] moves = moveBuffers[ply];
+        int count = match.legalMoves(moves);
+        if (count == 0)
+            return inCheck ? -MATE + ply : 0;
+
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = evaluate();
+            if (bestScore >= beta)
+                return bestScore;
+            if (bestScore > alpha)
+                alpha = bestScore;
+
+            int tactical = 0;
+            for (int i = 0; i < count; i++) {
+                if (isCapture(moves[i]) || Move.isPromotion(moves[i]))
+                    moves[tactical++] = moves[i];
+            }
+            count = tactical;
+        }
+        scoreMoves(moves, moveScores[ply], count, Move.NONE, ply);
+
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(moves, moveScores[ply], count, i);
+            match.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            match.undoMove(move);
+
+            if (stopped)
+                return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta)
+                        break;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    private int evaluate() {
+        int score = match.getEvaluation();
+        return match.getCurrentPlayer() == Color.WHITE ? score : -score;
+    }
+
+    private static int tablebaseScore(TablebaseResult probe, int ply) {
+        if (probe.isWin())
+            return MATE - ply - probe.getPlies();
+        if (probe.isLoss())
+            return -MATE + ply + probe.getPlies();
+        return 0;
+    }
+
+    private boolean isCapture(int move) {
+        if (match.piece(Move.to(move)) != null)
+            return true;
+        ChessPiece p = match.piece(Move.from(move));
+        return p.getType() == PieceType.PAWN && ((Move.from(move) ^ Move.to(move)) & 7) != 0;
+    }
+
+    // MVV-LVA for captures, then killers and history for quiet moves; the TT move always goes first
+    private void scoreMoves(int[] moves, int[] scores, int count, int ttMove, int ply) {
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = Move.from(move);
+            int to = Move.to(move);
+            if (move == ttMove)
+                scores[i] = 1 << 30;
+            else if (isCapture(move)) {
+                ChessPiece victim = match.piece(to);
+                int victimValue = Evaluation.pieceValue(victim == null ? PieceType.PAWN : victim.getType());
+                scores[i] = (1 << 28) + victimValue * 16 - match.piece(from).getType().ordinal();
+            }
+            else if (Move.isPromotion(move))
+                scores[i] = (1 << 27) + Move.promotion(move).ordinal();
+            else if (move == killers[ply][0])
+                scores[i] = (1 << 26) + 1;
+            else if (move == killers[ply][1])
+                scores[i] = 1 << 26;
+            else
+                scores[i] = Math.min(history[from][to], (1 << 26) - 1);
+        }
+    }
+
+    private int pickMove(int[] moves, int[] scores, int count, int index) {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best])
+                best = i;
+        }
+        int move = moves[best];
+        int score = scores[best];
+        moves[best] = moves[index];
+        scores[best] = scores[index];
+        moves[index] = move;
+        scores[index] = score;
+        return move;
+    }
+
+    private void updatePv(int ply, int move) {
+        pvTable[ply][ply] = move;
+        int length = pvLength[ply + 1];
+        System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, length - (ply + 1));
+        pvLength[ply] = Math.max(length, ply + 1);
+    }
+
+    private boolean isRepetition(long key, int ply) {
+        for (int i = ply - 2; i >= 0; i -= 2) {
+            if (keys[i] == key)
+                return true;
+        }
+        return false;
+    }
+
+    private void checkLimits() {
+        if ((nodeLimit > 0 && nodes >= nodeLimit) || System.nanoTime() >= deadline)
+            stopped = true;
+    }
+
+    // Mate scores are stored relative to the node so they stay valid at any ply
+    private static int toTT(int score, int ply) {
+        if (score >= MATE_BOUND)
+            return score + ply;
+        if (score <= -MATE_BOUND)
+            return score - ply;
+        return score;
+    }
+
+    private static int fromTT(int score, int ply) {
+        if (score >= MATE_BOUND)
+            return score - ply;
+        if (score <= -MATE_BOUND)
+            return score + ply;
+        return score;
+    }
+}
@@ -0,0 +1,44 @@
+package chess.engine;
+
+public class SearchLimits {
+
+    public static final int MAX_DEPTH = Search.MAX_PLY - 1;
+
+    private final int depth;
+    private final long timeMillis;
+    private final long nodes;
+
+    public SearchLimits(int depth, long timeMillis, long nodes) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Profundidade deve ser ao menos 1");
+        this.depth = Math.min(depth, MAX_DEPTH);
+        this.timeMillis = timeMillis;
+        this.nodes = nodes;
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0L, 0L);
+    }
+
+    public static SearchLimits time(long timeMillis) {
+        return new SearchLimits(MAX_DEPTH, timeMillis, 0L);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, 0L, nodes);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    // 0 means no time limit
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    // 0 means no node limit
+    public long getNodes() {
+        return nodes;
+    }
+}
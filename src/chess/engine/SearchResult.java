@@ -0,0 +1,59 @@
+package chess.engine;
+
+import chess.Move;
+
+public class SearchResult {
+
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final int[] principalVariation;
+    private final long nodes;
+    private final long nanos;
+
+    public SearchResult(int bestMove, int score, int depth, int[] principalVariation, long nodes, long nanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.principalVariation = principalVariation;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    // Centipawns from the side to move's point of view; see Search.isMateScore
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getNodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder pv = new StringBuilder();
+        for (int move : principalVariation)
+            pv.append(' ').append(Move.toString(move));
+        return "depth " + depth + " score " + score + " nodes " + nodes + " pv" + pv;
+    }
+}
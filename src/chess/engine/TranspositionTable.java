@@ -0,0 +1,131 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_UPPER = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_EXACT = 3;
+
+    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int LONGS_PER_BUCKET = ENTRIES_PER_BUCKET * 2;
+    private static final int BUCKET_BYTES = LONGS_PER_BUCKET * Long.BYTES;
+
+    // Entry data: move 0-15, score 16-31, depth 32-39, bound 40-41, generation 42-49
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int GENERATION_SHIFT = 42;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb < 1)
+            throw new IllegalArgumentException("Tamanho da tabela deve ser de ao menos 1 MB");
+        long buckets = Long.highestOneBit(((long) sizeMb << 20) / BUCKET_BYTES);
+        if (buckets * LONGS_PER_BUCKET > Integer.MAX_VALUE - 8)
+            buckets = Integer.highestOneBit((Integer.MAX_VALUE - 8) / LONGS_PER_BUCKET);
+        table = new long[(int) buckets * LONGS_PER_BUCKET];
+        bucketMask = (int) buckets - 1;
+    }
+
+    public int getSizeMb() {
+        return (int) (((long) table.length * Long.BYTES) >> 20);
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    // Returns the entry data for key, or 0 if there is none. Entries are stored as (key ^ data, data)
+    // without locking, so a torn write from another thread simply fails the key check.
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += 2) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0)
+                return data;
+        }
+        return 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int base = bucket(key);
+        int gen = generation;
+        int victim = base;
+        int worst = Integer.MAX_VALUE;
+
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += 2) {
+            long data = table[i + 1];
+            if (data == 0 || (table[i] ^ data) == key) {
+                if (data != 0 && move == 0)
+                    move = move(data);
+                if (data != 0 && bound != BOUND_EXACT && depth < depth(data) - 2 && generation(data) == gen)
+                    return;
+                victim = i;
+                break;
+            }
+            int value = depth(data) - 8 * ((gen - generation(data)) & 0xFF);
+            if (value < worst) {
+                worst = value;
+                victim = i;
+            }
+        }
+
+        long data = (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) (Math.max(0, Math.min(depth, 255))) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) gen << GENERATION_SHIFT);
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+    }
+
+    // Occupied entries from the current search, per thousand, sampled over the first 1000 buckets
+    public int hashfull() {
+        int buckets = Math.min(1000, bucketMask + 1);
+        int gen = generation;
+        int used = 0;
+        for (int b = 0; b < buckets; b++) {
+            for (int i = b * LONGS_PER_BUCKET; i < (b + 1) * LONGS_PER_BUCKET; i += 2) {
+                long data = table[i + 1];
+                if (data != 0 && generation(data) == gen)
+                    used++;
+            }
+        }
+        return used * 1000 / (buckets * ENTRIES_PER_BUCKET);
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> GENERATION_SHIFT) & 0xFF);
+    }
+
+    private int bucket(long key) {
+        return ((int) (key >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+}
@@ -0,0 +1,37 @@
+package chess.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Recorded around ChessMatch.tryMove (and so performChessMove); costs next to nothing while no recording is running
+@Name("xadrez.ChessMove")
+@Label("Chess Move")
+@Category("Xadrez")
+@Description("Lance validado e executado por ChessMatch.tryMove")
+@StackTrace(false)
+public class ChessMoveEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    public String source;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Turn")
+    public int turn;
+
+    @Label("Legal")
+    public boolean legal;
+
+    @Label("Capture")
+    public boolean capture;
+
+    @Label("Check")
+    public boolean check;
+
+    @Label("Checkmate")
+    public boolean checkMate;
+}
@@ -0,0 +1,41 @@
+package chess.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Power-of-two buckets: bucket b counts durations in [2^(b-1), 2^b) nanoseconds, bucket 0 counts zero
+final class LatencyHistogram {
+
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    void record(long nanos) {
+        buckets[bucket(nanos)].increment();
+    }
+
+    long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] = buckets[i].sum();
+        return counts;
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets)
+            bucket.reset();
+    }
+
+    static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    // Upper edge of a bucket
+    static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
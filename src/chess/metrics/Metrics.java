@@ -0,0 +1,137 @@
+package chess.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+// Call counts and latency histograms for the probed paths. Off by default (-Dxadrez.metrics=true turns it on);
+// when off, start() is a single volatile read and stop() a comparison, with no clock reads:
+//
+//     long start = Metrics.start();
+//     ...
+//     Metrics.stop(Probe.TEST_CHECK, start);
+public final class Metrics {
+
+    public static final String MBEAN_NAME = "xadrez:type=Metrics";
+
+    private static final Probe[] PROBES = Probe.values();
+    private static final LongAdder[] COUNTS = new LongAdder[PROBES.length];
+    private static final LongAdder[] NANOS = new LongAdder[PROBES.length];
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[PROBES.length];
+
+    private static volatile boolean enabled = Boolean.getBoolean("xadrez.metrics");
+
+    static {
+        for (int i = 0; i < PROBES.length; i++) {
+            COUNTS[i] = new LongAdder();
+            NANOS[i] = new LongAdder();
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    // 0 when metrics are off
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(Probe probe, long start) {
+        if (start != 0L)
+            record(probe, System.nanoTime() - start);
+    }
+
+    public static void record(Probe probe, long nanos) {
+        int i = probe.ordinal();
+        COUNTS[i].increment();
+        NANOS[i].add(nanos);
+        HISTOGRAMS[i].record(nanos);
+    }
+
+    // Counters keep running while the snapshot is read, so its fields may be off by a few calls
+    public static MetricsSnapshot snapshot() {
+        List<ProbeSnapshot> probes = new ArrayList<>(PROBES.length);
+        for (Probe probe : PROBES) {
+            int i = probe.ordinal();
+            probes.add(new ProbeSnapshot(probe, COUNTS[i].sum(), NANOS[i].sum(), HISTOGRAMS[i].snapshot()));
+        }
+        return new MetricsSnapshot(probes, System.currentTimeMillis());
+    }
+
+    public static void reset() {
+        for (int i = 0; i < PROBES.length; i++) {
+            COUNTS[i].reset();
+            NANOS[i].reset();
+            HISTOGRAMS[i].reset();
+        }
+    }
+
+    // Registers the MXBean with the platform MBean server; does nothing when it is already there
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(new Bean(), name);
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar o MBean de métricas", e);
+        }
+    }
+
+    private static final class Bean implements MetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            return byProbe(ProbeSnapshot::getCount);
+        }
+
+        @Override
+        public Map<String, Long> getMeanNanos() {
+            return byProbe(ProbeSnapshot::getMeanNanos);
+        }
+
+        @Override
+        public Map<String, Long> getP99Nanos() {
+            return byProbe(p -> p.getPercentileNanos(0.99));
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private static Map<String, Long> byProbe(ToLongFunction<ProbeSnapshot> value) {
+            Map<String, Long> map = new LinkedHashMap<>();
+            for (ProbeSnapshot probe : snapshot().getProbes())
+                map.put(probe.getProbe().name(), value.applyAsLong(probe));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package chess.metrics;
+
+import java.util.Map;
+
+// Registered by Metrics.registerMBean as "xadrez:type=Metrics"; maps are keyed by Probe name
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCounts();
+
+    Map<String, Long> getMeanNanos();
+
+    Map<String, Long> getP99Nanos();
+
+    void reset();
+}
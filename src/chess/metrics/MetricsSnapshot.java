@@ -0,0 +1,37 @@
+package chess.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MetricsSnapshot {
+
+    private final List<ProbeSnapshot> probes;
+    private final long takenAtMillis;
+
+    MetricsSnapshot(List<ProbeSnapshot> probes, long takenAtMillis) {
+        this.probes = Collections.unmodifiableList(new ArrayList<>(probes));
+        this.takenAtMillis = takenAtMillis;
+    }
+
+    // In Probe order
+    public List<ProbeSnapshot> getProbes() {
+        return probes;
+    }
+
+    public ProbeSnapshot getProbe(Probe probe) {
+        return probes.get(probe.ordinal());
+    }
+
+    public long getTakenAtMillis() {
+        return takenAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (ProbeSnapshot probe : probes)
+            sb.append(probe).append(System.lineSeparator());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package chess.metrics;
+
+// Instrumented code paths
+public enum Probe {
+    POSSIBLE_MOVES,
+    TEST_CHECK,
+    TEST_CHECK_MATE,
+    PERFORM_CHESS_MOVE,
+    UI_RENDER
+}
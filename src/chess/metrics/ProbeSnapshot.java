@@ -0,0 +1,55 @@
+package chess.metrics;
+
+public class ProbeSnapshot {
+
+    private final Probe probe;
+    private final long count;
+    private final long totalNanos;
+    private final long[] buckets;
+
+    ProbeSnapshot(Probe probe, long count, long totalNanos, long[] buckets) {
+        this.probe = probe;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.buckets = buckets;
+    }
+
+    public Probe getProbe() {
+        return probe;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0L : totalNanos / count;
+    }
+
+    // Upper edge of the histogram bucket holding the given fraction of the calls, so within a factor of two
+    public long getPercentileNanos(double fraction) {
+        long total = 0;
+        for (long bucket : buckets)
+            total += bucket;
+        if (total == 0)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank)
+                return LatencyHistogram.upperBound(i);
+        }
+        return LatencyHistogram.upperBound(buckets.length - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-18s %,12d chamadas  média %,9d ns  p50 %,9d ns  p99 %,11d ns", probe, count,
+                getMeanNanos(), getPercentileNanos(0.50), getPercentileNanos(0.99));
+    }
+}
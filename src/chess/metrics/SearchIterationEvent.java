@@ -0,0 +1,34 @@
+package chess.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One iterative deepening pass of Search, on any thread
+@Name("xadrez.SearchIteration")
+@Label("Search Iteration")
+@Category("Xadrez")
+@Description("Uma iteração do aprofundamento iterativo da busca")
+@StackTrace(false)
+public class SearchIterationEvent extends jdk.jfr.Event {
+
+    @Label("Depth")
+    public int depth;
+
+    @Label("Helper")
+    public int helper;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Nodes")
+    public long nodes;
+
+    @Label("Best Move")
+    public String bestMove;
+
+    @Label("Completed")
+    public boolean completed;
+}
@@ -0,0 +1,70 @@
+package chess.pgn;
+
+import chess.ChessMatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PgnGame {
+
+    private final long index;
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final List<String> moves = new ArrayList<>();
+    private String result = "*";
+
+    PgnGame(long index) {
+        this.index = index;
+    }
+
+    // Position of the game in its file, counting from 0
+    public long getIndex() {
+        return index;
+    }
+
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public List<String> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    // Starting match for the game, honouring a FEN tag when the game does not start from the usual position
+    public ChessMatch newMatch() {
+        String fen = tags.get("FEN");
+        return fen == null ? new ChessMatch() : new ChessMatch(fen);
+    }
+
+    void addTag(String name, String value) {
+        tags.put(name, value);
+    }
+
+    void addMove(String san) {
+        moves.add(san);
+    }
+
+    void setResult(String result) {
+        this.result = result;
+    }
+
+    boolean isEmpty() {
+        return tags.isEmpty() && moves.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Jogo " + index + ": " + tags.getOrDefault("White", "?") + " x " + tags.getOrDefault("Black", "?")
+                + " " + result + " (" + moves.size() + " lances)";
+    }
+}
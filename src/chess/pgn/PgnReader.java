@@ -0,0 +1,233 @@
+package chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Reads games one at a time through a fixed buffer, so files of any size stream in constant memory
+public class PgnReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    private byte[] token = new byte[256];
+    private int tokenLength;
+    private int pushback = -1;
+    private boolean lineStart = true;
+    private long games;
+
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public static PgnReader open(Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    // Next game in the input, or null at the end; a game ends at its result token or at the next tag section
+    public PgnGame next() throws IOException {
+        PgnGame game = null;
+        int c;
+        while ((c = read()) >= 0) {
+            boolean atLineStart = lineStart;
+            lineStart = c == '\n';
+            if (atLineStart && c == '%') {
+                skipLine();
+                continue;
+            }
+            if (c <= ' ')
+                continue;
+
+            switch (c) {
+                case '[':
+                    if (game != null && !game.getMoves().isEmpty()) {
+                        unread(c);
+                        return game;
+                    }
+                    if (game == null)
+                        game = new PgnGame(games++);
+                    readTag(game);
+                    break;
+                case '{':
+                    skipComment();
+                    break;
+                case ';':
+                    skipLine();
+                    break;
+                case '(':
+                    skipVariation();
+                    break;
+                case ')':
+                    break;
+                case '$':
+                    readToken(c);
+                    break;
+                default:
+                    readToken(c);
+                    if (game == null)
+                        game = new PgnGame(games++);
+                    if (isResult()) {
+                        game.setResult(new String(token, 0, tokenLength, StandardCharsets.ISO_8859_1));
+                        return game;
+                    }
+                    int start = skipMoveNumber();
+                    if (start < tokenLength)
+                        game.addMove(new String(token, start, tokenLength - start, StandardCharsets.ISO_8859_1));
+            }
+        }
+        return (game == null || game.isEmpty()) ? null : game;
+    }
+
+    private void readTag(PgnGame game) throws IOException {
+        int c = skipSpaces();
+        tokenLength = 0;
+        while (c > ' ' && c != '"' && c != ']') {
+            append(c);
+            c = read();
+        }
+        String name = new String(token, 0, tokenLength, StandardCharsets.ISO_8859_1);
+        if (c <= ' ')
+            c = skipSpaces();
+
+        tokenLength = 0;
+        if (c == '"') {
+            while ((c = read()) >= 0 && c != '"' && c != '\n') {
+                if (c == '\\')
+                    c = read();
+                append(c);
+            }
+        }
+        while (c >= 0 && c != ']' && c != '\n')
+            c = read();
+        lineStart = c == '\n';
+        game.addTag(name, new String(token, 0, tokenLength, StandardCharsets.UTF_8));
+    }
+
+    private void readToken(int first) throws IOException {
+        tokenLength = 0;
+        append(first);
+        int c;
+        while ((c = read()) > ' ') {
+            if (c == '{' || c == '(' || c == ')' || c == '[' || c == ';' || c == '$') {
+                unread(c);
+                return;
+            }
+            append(c);
+        }
+        lineStart = c == '\n';
+    }
+
+    private boolean isResult() {
+        return tokenIs("1-0") || tokenIs("0-1") || tokenIs("1/2-1/2") || tokenIs("*");
+    }
+
+    private boolean tokenIs(String s) {
+        if (tokenLength != s.length())
+            return false;
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[i] != s.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    // "12.", "12..." and "12.e4" all carry a move number in front of the move, if any
+    private int skipMoveNumber() {
+        int i = 0;
+        while (i < tokenLength && token[i] >= '0' && token[i] <= '9')
+            i++;
+        if (i < tokenLength && token[i] != '.')
+            return 0;
+        while (i < tokenLength && token[i] == '.')
+            i++;
+        return i;
+    }
+
+    private void skipComment() throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != '}') {
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != '\n') {
+        }
+        lineStart = true;
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) >= 0) {
+            if (c == '(')
+                depth++;
+            else if (c == ')')
+                depth--;
+            else if (c == '{')
+                skipComment();
+        }
+    }
+
+    private int skipSpaces() throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c <= ' ') {
+        }
+        return c;
+    }
+
+    private void append(int c) {
+        if (tokenLength == token.length)
+            token = Arrays.copyOf(token, tokenLength * 2);
+        token[tokenLength++] = (byte) c;
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+
+    private int read() throws IOException {
+        if (pushback >= 0) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        if (position == limit && !fill())
+            return -1;
+        return bytes[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfInput)
+            return false;
+        buffer.clear();
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0);
+        if (n < 0) {
+            endOfInput = true;
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,111 @@
+package chess.pgn;
+
+import chess.ChessMatch;
+import chess.ChessPosition;
+import chess.Move;
+import chess.PieceType;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Replays games through ChessMatch on a worker pool while the calling thread keeps reading
+public class PgnReplay {
+
+    // Games read ahead per worker before the reader waits
+    private static final int QUEUE_PER_THREAD = 64;
+
+    private final int threads;
+    private final ReplayListener listener;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ThreadLocal<int[]> buffers = ThreadLocal.withInitial(() -> new int[ChessMatch.MAX_MOVES]);
+
+    public PgnReplay(int threads, ReplayListener listener) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Número de threads deve ser ao menos 1");
+        this.threads = threads;
+        this.listener = listener;
+    }
+
+    public ReplayStats run(PgnReader reader) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore slots = new Semaphore(threads * QUEUE_PER_THREAD);
+        try {
+            PgnGame game;
+            while ((game = reader.next()) != null) {
+                slots.acquire();
+                PgnGame g = game;
+                executor.execute(() -> {
+                    try {
+                        replay(g);
+                    }
+                    finally {
+                        slots.release();
+                    }
+                });
+            }
+        }
+        finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return new ReplayStats(games.sum(), moves.sum(), errors.sum(), System.nanoTime() - start);
+    }
+
+    // Live counters, for progress reports while run() is going
+    public long getGames() {
+        return games.sum();
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    private void replay(PgnGame game) {
+        int[] buffer = buffers.get();
+        int ply = 0;
+        try {
+            ChessMatch match = game.newMatch();
+            for (String san : game.getMoves()) {
+                int move = San.parse(match, san, buffer);
+                match.performChessMove(position(Move.from(move)), position(Move.to(move)));
+                if (Move.isPromotion(move))
+                    match.replacePromotedPiece(promotionLetter(Move.promotion(move)));
+                ply++;
+                listener.onMove(game, match, ply, move);
+            }
+            moves.add(ply);
+            games.increment();
+            listener.onGame(game, match);
+        }
+        catch (RuntimeException e) {
+            moves.add(ply);
+            errors.increment();
+            listener.onError(game, ply, e);
+        }
+    }
+
+    private static ChessPosition position(int square) {
+        return new ChessPosition(8 - (square >>> 3), (char) ('a' + (square & 7)));
+    }
+
+    // replacePromotedPiece takes the Portuguese piece letters
+    private static String promotionLetter(PieceType type) {
+        switch (type) {
+            case KNIGHT: return "C";
+            case BISHOP: return "B";
+            case ROOK: return "T";
+            default: return "R";
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package chess.pgn;
+
+import chess.ChessMatch;
+
+// Called from the worker threads, so implementations must be thread-safe; games arrive in any order
+public interface ReplayListener {
+
+    // match is the position after the move; move is encoded as in chess.Move
+    default void onMove(PgnGame game, ChessMatch match, int ply, int move) {
+    }
+
+    default void onGame(PgnGame game, ChessMatch match) {
+    }
+
+    // The game is abandoned at the first move that cannot be parsed or played
+    default void onError(PgnGame game, int ply, RuntimeException e) {
+    }
+}
@@ -0,0 +1,42 @@
+package chess.pgn;
+
+public class ReplayStats {
+
+    private final long games;
+    private final long moves;
+    private final long errors;
+    private final long nanos;
+
+    public ReplayStats(long games, long moves, long errors, long nanos) {
+        this.games = games;
+        this.moves = moves;
+        this.errors = errors;
+        this.nanos = nanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getGamesPerSecond() {
+        return nanos == 0 ? 0 : games * 1_000_000_000L / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return games + " jogos, " + moves + " lances, " + errors + " erros em "
+                + String.format("%.3f", nanos / 1e9) + " s (" + getGamesPerSecond() + " jogos/s)";
+    }
+}
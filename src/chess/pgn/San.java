@@ -0,0 +1,184 @@
+package chess.pgn;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Move;
+import chess.PieceType;
+
+public final class San {
+
+    private static final char[] PIECE_LETTERS = {'P', 'N', 'B', 'R', 'Q', 'K'};
+
+    private San() {
+    }
+
+    // Resolves a SAN move such as "Nbd7", "exd6", "e8=Q+" or "O-O" against the legal moves of the
+    // side to move; moves is scratch space of at least ChessMatch.MAX_MOVES entries
+    public static int parse(ChessMatch match, CharSequence san, int[] moves) {
+        int end = san.length();
+        while (end > 0 && isAnnotation(san.charAt(end - 1)))
+            end--;
+        if (end < 2)
+            throw invalid(san);
+
+        int count = match.legalMoves(moves);
+        if (isCastling(san, end)) {
+            boolean queenside = end >= 5;
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                int from = Move.from(move);
+                int to = Move.to(move);
+                if (match.piece(from).getType() == PieceType.KING && to - from == (queenside ? -2 : 2))
+                    return move;
+            }
+            throw invalid(san);
+        }
+
+        int start = 0;
+        PieceType type = pieceType(san.charAt(0));
+        if (type == null)
+            type = PieceType.PAWN;
+        else
+            start = 1;
+
+        PieceType promotion = null;
+        if (type == PieceType.PAWN) {
+            PieceType last = pieceType(san.charAt(end - 1));
+            if (last != null) {
+                promotion = last;
+                end--;
+                if (end > 0 && san.charAt(end - 1) == '=')
+                    end--;
+            }
+        }
+        if (end - start < 2)
+            throw invalid(san);
+
+        int targetColumn = san.charAt(end - 2) - 'a';
+        int targetRank = san.charAt(end - 1) - '1';
+        if (!validColumn(targetColumn) || !validColumn(targetRank))
+            throw invalid(san);
+        int target = (7 - targetRank) * 8 + targetColumn;
+
+        int fromColumn = -1;
+        int fromRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h')
+                fromColumn = c - 'a';
+            else if (c >= '1' && c <= '8')
+                fromRank = c - '1';
+            else if (c != 'x' && c != ':' && c != '-')
+                throw invalid(san);
+        }
+
+        int found = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = Move.from(move);
+            if (Move.to(move) != target || Move.promotion(move) != promotion)
+                continue;
+            ChessPiece piece = match.piece(from);
+            if (piece.getType() != type)
+                continue;
+            if (fromColumn >= 0 && (from & 7) != fromColumn)
+                continue;
+            if (fromRank >= 0 && 7 - (from >>> 3) != fromRank)
+                continue;
+            if (found != Move.NONE)
+                throw new ChessException("Lance ambíguo: " + san);
+            found = move;
+        }
+        if (found == Move.NONE)
+            throw invalid(san);
+        return found;
+    }
+
+    // Writes a legal move of the side to move in SAN, with the check or mate suffix
+    public static String format(ChessMatch match, int move, int[] moves) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = match.piece(from);
+        PieceType type = piece.getType();
+        StringBuilder sb = new StringBuilder(8);
+
+        if (type == PieceType.KING && Math.abs(to - from) == 2)
+            sb.append(to > from ? "O-O" : "O-O-O");
+        else {
+            boolean capture = match.piece(to) != null || (type == PieceType.PAWN && ((from ^ to) & 7) != 0);
+            if (type == PieceType.PAWN) {
+                if (capture)
+                    sb.append((char) ('a' + (from & 7)));
+            }
+            else {
+                sb.append(PIECE_LETTERS[type.ordinal()]);
+                boolean sameColumn = false;
+                boolean sameRow = false;
+                boolean ambiguous = false;
+                int count = match.legalMoves(moves);
+                for (int i = 0; i < count; i++) {
+                    int other = Move.from(moves[i]);
+                    if (other == from || Move.to(moves[i]) != to || match.piece(other).getType() != type)
+                        continue;
+                    ambiguous = true;
+                    sameColumn |= (other & 7) == (from & 7);
+                    sameRow |= (other >>> 3) == (from >>> 3);
+                }
+                if (ambiguous) {
+                    if (!sameColumn)
+                        sb.append((char) ('a' + (from & 7)));
+                    else if (!sameRow)
+                        sb.append((char) ('8' - (from >>> 3)));
+                    else
+                        sb.append((char) ('a' + (from & 7))).append((char) ('8' - (from >>> 3)));
+                }
+            }
+            if (capture)
+                sb.append('x');
+            sb.append(Move.squareName(to));
+            if (Move.isPromotion(move))
+                sb.append('=').append(PIECE_LETTERS[Move.promotion(move).ordinal()]);
+        }
+
+        match.makeMove(move);
+        if (match.isCheck())
+            sb.append(match.legalMoves(moves) == 0 ? '#' : '+');
+        match.undoMove(move);
+        return sb.toString();
+    }
+
+    private static boolean isCastling(CharSequence san, int end) {
+        if (end != 3 && end != 5)
+            return false;
+        for (int i = 0; i < end; i++) {
+            char c = san.charAt(i);
+            if (i % 2 == 1 ? c != '-' : (c != 'O' && c != '0'))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isAnnotation(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static boolean validColumn(int value) {
+        return value >= 0 && value < 8;
+    }
+
+    private static PieceType pieceType(char c) {
+        switch (c) {
+            case 'N': return PieceType.KNIGHT;
+            case 'B': return PieceType.BISHOP;
+            case 'R': return PieceType.ROOK;
+            case 'Q': return PieceType.QUEEN;
+            case 'K': return PieceType.KING;
+            default: return null;
+        }
+    }
+
+    private static ChessException invalid(CharSequence san) {
+        return new ChessException("Lance inválido: " + san);
+    }
+}
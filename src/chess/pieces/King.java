@@ -1,64 +1,54 @@
 package chess.pieces;
 
 import boardgame.Board;
-import boardgame.Position;
-import chess.ChessMatch;
+import chess.Attacks;
+import chess.ChessBoard;
 import chess.ChessPiece;
 import chess.Color;
+import chess.PieceType;
 
 public class King extends ChessPiece {
 
-    private ChessMatch chessMatch;
-
-    public King(Board board, Color color, ChessMatch chessMatch) {
+    public King(Board board, Color color) {
         super(board, color);
-        this.chessMatch = chessMatch;
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-        Position p = new Position(0,0);
-
-        p.setValues(position.getRow() - 1, position.getColumn() -1);
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-                    mat[p.getRow()][p.getColumn()] = true;
-                p.setColumn(p.getColumn() + 1);
+    public long possibleMovesMask() {
+        int square = getSquare();
+        long mask = Attacks.king(square) & ~getOwnMask();
+
+        ChessBoard board = getChessBoard();
+        Color opponent = (getColor() == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        if (getMoveCount() == 0 && !board.isSquareAttacked(square, opponent)) {
+            int column = position.getColumn();
+
+            if (column + 3 < ChessBoard.SIZE && testRookCastling(square + 3)) {
+                if (!board.thereIsAPiece(square + 1) && !board.thereIsAPiece(square + 2)
+                        && !board.isSquareAttacked(square + 1, opponent) && !board.isSquareAttacked(square + 2, opponent))
+                    mask |= ChessBoard.bit(square + 2);
             }
-            p.setColumn(position.getColumn() - 1);
-            p.setRow(p.getRow() + 1);
-        }
 
-        if (getMoveCount() == 0 && !chessMatch.isCheck()) {
-            Position rightRook = new Position(position.getRow(), position.getColumn() + 3);
-            Position leftRook = new Position(position.getRow(), position.getColumn() - 4);
-
-            if (testRookCastling(rightRook)) {
-                Position p1 = new Position(position.getRow(), position.getColumn() + 1);
-                Position p2 = new Position(position.getRow(), position.getColumn() + 2);
-                if (getBoard().piece(p1) == null && getBoard().piece(p2) == null)
-                    mat[position.getRow()][position.getColumn() + 2] = true;
-            }
-
-            if (testRookCastling(leftRook)) {
-                Position p1 = new Position(position.getRow(), position.getColumn() - 1);
-                Position p2 = new Position(position.getRow(), position.getColumn() - 2);
-                Position p3 = new Position(position.getRow(), position.getColumn() - 3);
-                if (getBoard().piece(p1) == null && getBoard().piece(p2) == null && getBoard().piece(p3) == null)
-                    mat[position.getRow()][position.getColumn() - 2] = true;
+            if (column - 4 >= 0 && testRookCastling(square - 4)) {
+                if (!board.thereIsAPiece(square - 1) && !board.thereIsAPiece(square - 2) && !board.thereIsAPiece(square - 3)
+                        && !board.isSquareAttacked(square - 1, opponent) && !board.isSquareAttacked(square - 2, opponent))
+                    mask |= ChessBoard.bit(square - 2);
             }
         }
 
-        return mat;
+        return mask;
     }
 
-    private boolean testRookCastling(Position position) {
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
+    private boolean testRookCastling(int square) {
+        ChessPiece p = getChessBoard().piece(square);
         return p instanceof Rook && p.getColor() == getColor() && p.getMoveCount() == 0;
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.KING;
+    }
+
     @Override
     public String toString() {
         return "r";
@@ -1,9 +1,10 @@
 package chess.pieces;
 
 import boardgame.Board;
-import boardgame.Position;
+import chess.Attacks;
 import chess.ChessPiece;
 import chess.Color;
+import chess.PieceType;
 
 public class Knight extends ChessPiece {
 
@@ -12,44 +13,13 @@ public class Knight extends ChessPiece {
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-        Position p = new Position(0,0);
-
-        p.setValues(position.getRow() - 1, position.getColumn() + 2);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() - 1, position.getColumn() - 2);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + 1, position.getColumn() + 2);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + 1, position.getColumn() - 2);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() - 2, position.getColumn() + 1);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() - 2, position.getColumn() - 1);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + 2, position.getColumn() + 1);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + 2, position.getColumn() - 1);
-        if (getBoard().positionExists(p) && (!getBoard().thereIsAPiece(p) || isThereOpponentPiece(p)))
-            mat[p.getRow()][p.getColumn()] = true;
-
+    public long possibleMovesMask() {
+        return Attacks.knight(getSquare()) & ~getOwnMask();
+    }
 
-        return mat;
+    @Override
+    public PieceType getType() {
+        return PieceType.KNIGHT;
     }
 
     @Override
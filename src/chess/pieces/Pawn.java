@@ -1,10 +1,13 @@
 package chess.pieces;
 
 import boardgame.Board;
-import boardgame.Position;
+import chess.Attacks;
+import chess.ChessBoard;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.Color;
+import chess.Move;
+import chess.PieceType;
 
 public class Pawn extends ChessPiece {
 
@@ -16,61 +19,70 @@ public class Pawn extends ChessPiece {
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
+    public long possibleMovesMask() {
+        ChessBoard board = getChessBoard();
+        long occupied = board.getOccupied();
+        long opponent = occupied & ~board.getColorMask(getColor());
         int color = getColor() == Color.WHITE ? -1 : 1;
-        Position p = new Position(0,0);
-        Position p2 = new Position(position.getRow() + color, position.getColumn());
-
-        p.setValues(position.getRow() + color, position.getColumn());
-        if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + 2 * color, position.getColumn());
-        if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)
-                && getBoard().positionExists(p2) && !getBoard().thereIsAPiece(p2) && getMoveCount() == 0)
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + color, position.getColumn() - 1);
-        if (getBoard().positionExists(p) && isThereOpponentPiece(p))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        p.setValues(position.getRow() + color, position.getColumn() + 1);
-        if (getBoard().positionExists(p) && isThereOpponentPiece(p))
-            mat[p.getRow()][p.getColumn()] = true;
-
-        if (position.getRow() == 3 && this.getColor() == Color.WHITE) {
-            Position left = new Position(position.getRow(), position.getColumn() - 1);
-            Position right = new Position(position.getRow(), position.getColumn() + 1);
-
-            if (getBoard().positionExists(left) && isThereOpponentPiece(left)
-                    && getBoard().piece(left) == chessMatch.getEnPassantVulnerable()) {
-                mat[left.getRow() - 1][left.getColumn()] = true;
+        int row = position.getRow() + color;
+        int column = position.getColumn();
+        long mask = 0L;
+
+        if (row < 0 || row >= ChessBoard.SIZE)
+            return mask;
+
+        long one = ChessBoard.bit(ChessBoard.square(row, column));
+        if ((occupied & one) == 0) {
+            mask |= one;
+            int row2 = row + color;
+            if (getMoveCount() == 0 && row2 >= 0 && row2 < ChessBoard.SIZE) {
+                long two = ChessBoard.bit(ChessBoard.square(row2, column));
+                if ((occupied & two) == 0)
+                    mask |= two;
             }
+        }
 
-            if (getBoard().positionExists(right) && isThereOpponentPiece(right)
-                    && getBoard().piece(right) == chessMatch.getEnPassantVulnerable()) {
-                mat[right.getRow() - 1][right.getColumn()] = true;
-            }
+        mask |= Attacks.pawn(getColor(), getSquare()) & opponent;
+
+        if ((position.getRow() == 3 && getColor() == Color.WHITE) || (position.getRow() == 4 && getColor() == Color.BLACK)) {
+            ChessPiece vulnerable = chessMatch.getEnPassantVulnerable();
+            if (column > 0 && isEnPassantTarget(board.piece(ChessBoard.square(position.getRow(), column - 1)), vulnerable))
+                mask |= ChessBoard.bit(ChessBoard.square(row, column - 1));
+            if (column < ChessBoard.SIZE - 1 && isEnPassantTarget(board.piece(ChessBoard.square(position.getRow(), column + 1)), vulnerable))
+                mask |= ChessBoard.bit(ChessBoard.square(row, column + 1));
         }
 
-        if (position.getRow() == 4 && this.getColor() == Color.BLACK) {
-            Position left = new Position(position.getRow(), position.getColumn() - 1);
-            Position right = new Position(position.getRow(), position.getColumn() + 1);
+        return mask;
+    }
 
-            if (getBoard().positionExists(left) && isThereOpponentPiece(left)
-                    && getBoard().piece(left) == chessMatch.getEnPassantVulnerable()) {
-                mat[left.getRow() + 1][left.getColumn()] = true;
-            }
+    private boolean isEnPassantTarget(ChessPiece p, ChessPiece vulnerable) {
+        return p != null && p == vulnerable && p.getColor() != getColor();
+    }
 
-            if (getBoard().positionExists(right) && isThereOpponentPiece(right)
-                    && getBoard().piece(right) == chessMatch.getEnPassantVulnerable()) {
-                mat[right.getRow() + 1][right.getColumn()] = true;
+    @Override
+    public int possibleMoves(int[] moves, int count) {
+        int from = ChessBoard.square(position);
+        long mask = possibleMovesMask();
+        while (mask != 0) {
+            int to = Long.numberOfTrailingZeros(mask);
+            int targetRow = to >>> 3;
+            if (targetRow == 0 || targetRow == ChessBoard.SIZE - 1) {
+                moves[count++] = Move.encode(from, to, PieceType.QUEEN);
+                moves[count++] = Move.encode(from, to, PieceType.ROOK);
+                moves[count++] = Move.encode(from, to, PieceType.BISHOP);
+                moves[count++] = Move.encode(from, to, PieceType.KNIGHT);
             }
+            else
+                moves[count++] = Move.encode(from, to);
+            mask &= mask - 1;
         }
+        return count;
+    }
 
-        return mat;
-        }
+    @Override
+    public PieceType getType() {
+        return PieceType.PAWN;
+    }
 
     @Override
     public String toString() {
@@ -0,0 +1,107 @@
+package chess.server;
+
+import boardgame.BoardException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+// One connection; blocks only its own thread while reading or writing. Matches opened here are
+// closed with it, so clients that disconnect without CLOSE do not leave them on the server
+final class ClientSession implements Runnable {
+
+    private final GameServer server;
+    private final Socket socket;
+    private final Set<Long> opened = new HashSet<>();
+
+    ClientSession(GameServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = execute(line.trim());
+                if (reply == null)
+                    break;
+                out.write(reply);
+                out.write('\n');
+                out.flush();
+            }
+        }
+        catch (IOException e) {
+            // Client went away
+        }
+        finally {
+            for (long id : opened)
+                server.closeMatch(id);
+        }
+    }
+
+    // Returns null on QUIT
+    private String execute(String line) {
+        String[] tokens = line.split("\\s+", 3);
+        try {
+            switch (tokens[0].toUpperCase()) {
+                case "NEW": {
+                    long id = server.newMatch(tokens.length > 1 ? line.substring(3).trim() : null).getId();
+                    opened.add(id);
+                    return "OK " + id;
+                }
+                case "MOVE": {
+                    ServerMatch match = match(tokens);
+                    if (tokens.length < 3)
+                        return "ERR Uso: MOVE <id> <lance>";
+                    String reply = match.move(tokens[2]);
+                    if (reply.startsWith("OK"))
+                        server.moved();
+                    return reply;
+                }
+                case "FEN": {
+                    ServerMatch match = match(tokens);
+                    return "OK " + match.getId() + " " + match.fen();
+                }
+                case "CLOSE": {
+                    ServerMatch match = match(tokens);
+                    server.closeMatch(match.getId());
+                    opened.remove(match.getId());
+                    return "OK " + match.getId();
+                }
+                case "QUIT":
+                    return null;
+                default:
+                    return "ERR Comando desconhecido: " + tokens[0];
+            }
+        }
+        catch (BoardException | IllegalStateException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private ServerMatch match(String[] tokens) {
+        if (tokens.length < 2)
+            throw new IllegalStateException("Partida não informada");
+        ServerMatch match;
+        try {
+            match = server.match(Long.parseLong(tokens[1]));
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalStateException("Partida inválida: " + tokens[1]);
+        }
+        if (match == null)
+            throw new IllegalStateException("Partida inexistente: " + tokens[1]);
+        return match;
+    }
+}
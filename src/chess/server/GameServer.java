@@ -0,0 +1,120 @@
+package chess.server;
+
+import chess.ChessMatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hosts any number of matches in one JVM over a line-based TCP protocol, one thread per connection:
+//   NEW [fen]         -> OK <id>
+//   MOVE <id> <e2e4>  -> OK <id> <e2e4> <-|CHECK|CHECKMATE|STALEMATE>
+//   FEN <id>          -> OK <id> <fen>
+//   CLOSE <id>        -> OK <id>
+//   QUIT
+// Errors are answered with "ERR <message>" and leave the connection open
+// A match lives until CLOSE or until the connection that created it ends
+public class GameServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Map<Long, ServerMatch> matches = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder clients = new LongAdder();
+    private final Thread acceptor;
+
+    // Port 0 picks a free port, see getPort
+    public GameServer(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        connections = newConnectionExecutor();
+        acceptor = new Thread(this::accept, "game-server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    // Virtual threads when the runtime has them (JDK 21+), otherwise a cached pool of platform threads
+    static ExecutorService newConnectionExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "game-server-connection");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getMatchCount() {
+        return matches.size();
+    }
+
+    public long getMoveCount() {
+        return moves.sum();
+    }
+
+    public long getClientCount() {
+        return clients.sum();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.increment();
+                connections.execute(new ClientSession(this, socket));
+            }
+            catch (SocketException e) {
+                // Closed by close()
+            }
+            catch (IOException e) {
+                System.err.println("Erro ao aceitar conexão: " + e.getMessage());
+            }
+        }
+    }
+
+    ServerMatch newMatch(String fen) {
+        ChessMatch match = fen == null ? new ChessMatch() : new ChessMatch(fen);
+        ServerMatch serverMatch = new ServerMatch(nextId.getAndIncrement(), match);
+        matches.put(serverMatch.getId(), serverMatch);
+        return serverMatch;
+    }
+
+    ServerMatch match(long id) {
+        return matches.get(id);
+    }
+
+    boolean closeMatch(long id) {
+        return matches.remove(id) != null;
+    }
+
+    void moved() {
+        moves.increment();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
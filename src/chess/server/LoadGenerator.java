@@ -0,0 +1,153 @@
+package chess.server;
+
+import chess.ChessMatch;
+import chess.Move;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Opens one connection per simulated client; each plays random legal games against the server, picking
+// moves from a local mirror of the match, and times every MOVE round trip
+public class LoadGenerator {
+
+    private static final int MAX_PLIES = 200;
+
+    private final String host;
+    private final int port;
+    private final int clients;
+
+    public LoadGenerator(String host, int port, int clients) {
+        if (clients < 1)
+            throw new IllegalArgumentException("Número de clientes deve ser ao menos 1");
+        this.host = host;
+        this.port = port;
+        this.clients = clients;
+    }
+
+    public LoadReport run(long millis) throws IOException, InterruptedException {
+        ExecutorService executor = GameServer.newConnectionExecutor();
+        List<Callable<Client>> tasks = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        long deadline = start + millis * 1_000_000L;
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(i);
+            tasks.add(() -> {
+                client.play(deadline);
+                return client;
+            });
+        }
+
+        long moves = 0;
+        long games = 0;
+        long errors = 0;
+        List<Client> finished = new ArrayList<>(clients);
+        try {
+            for (Future<Client> future : executor.invokeAll(tasks)) {
+                Client client = future.get();
+                finished.add(client);
+                moves += client.count;
+                games += client.games;
+                errors += client.errors;
+            }
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        long nanos = System.nanoTime() - start;
+
+        long[] latencies = new long[(int) moves];
+        int offset = 0;
+        for (Client client : finished) {
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            offset += client.count;
+        }
+        Arrays.sort(latencies);
+        return new LoadReport(clients, moves, games, errors, nanos, percentile(latencies, 0.50),
+                percentile(latencies, 0.99), latencies.length == 0 ? 0L : latencies[latencies.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0)
+            return 0L;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private final class Client {
+
+        private final Random random;
+        private final int[] legal = new int[ChessMatch.MAX_MOVES];
+        private long[] latencies = new long[1024];
+        private int count;
+        private long games;
+        private long errors;
+
+        Client(int index) {
+            random = new Random(index);
+        }
+
+        void play(long deadline) throws IOException {
+            try (Socket socket = new Socket(host, port);
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                socket.setTcpNoDelay(true);
+                while (System.nanoTime() < deadline) {
+                    String id = request(in, out, "NEW").substring(3);
+                    ChessMatch mirror = new ChessMatch();
+                    games++;
+                    for (int ply = 0; ply < MAX_PLIES && System.nanoTime() < deadline; ply++) {
+                        int moves = mirror.legalMoves(legal);
+                        if (moves == 0)
+                            break;
+                        int move = legal[random.nextInt(moves)];
+                        long start = System.nanoTime();
+                        String reply = request(in, out, "MOVE " + id + " " + Move.toString(move));
+                        record(System.nanoTime() - start);
+                        if (!reply.startsWith("OK")) {
+                            errors++;
+                            break;
+                        }
+                        mirror.makeMove(move);
+                    }
+                    request(in, out, "CLOSE " + id);
+                }
+                out.write("QUIT\n");
+                out.flush();
+            }
+        }
+
+        private String request(BufferedReader in, Writer out, String command) throws IOException {
+            out.write(command);
+            out.write('\n');
+            out.flush();
+            String reply = in.readLine();
+            if (reply == null)
+                throw new IOException("Conexão encerrada pelo servidor");
+            return reply;
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length)
+                latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+    }
+}
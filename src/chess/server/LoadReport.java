@@ -0,0 +1,68 @@
+package chess.server;
+
+public class LoadReport {
+
+    private final int clients;
+    private final long moves;
+    private final long games;
+    private final long errors;
+    private final long nanos;
+    private final long p50;
+    private final long p99;
+    private final long max;
+
+    LoadReport(int clients, long moves, long games, long errors, long nanos, long p50, long p99, long max) {
+        this.clients = clients;
+        this.moves = moves;
+        this.games = games;
+        this.errors = errors;
+        this.nanos = nanos;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMovesPerSecond() {
+        return moves * 1e9 / Math.max(1L, nanos);
+    }
+
+    // Round-trip latency of a MOVE command, in nanoseconds
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d clientes, %d lances em %d partidas (%d erros) em %.3f s: %.0f lances/s,"
+                        + " latência p50 %.3f ms, p99 %.3f ms, máx %.3f ms",
+                clients, moves, games, errors, nanos / 1e9, getMovesPerSecond(), p50 / 1e6, p99 / 1e6, max / 1e6);
+    }
+}
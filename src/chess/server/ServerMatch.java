@@ -0,0 +1,87 @@
+package chess.server;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.MoveResult;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// A hosted match. Each one has its own lock, so clients on different matches never wait for each other;
+// ReentrantLock rather than synchronized keeps virtual threads from pinning their carrier while they wait
+final class ServerMatch {
+
+    private final long id;
+    private final ChessMatch match;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    ServerMatch(long id, ChessMatch match) {
+        this.id = id;
+        this.match = match;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    // Move in coordinate notation, e.g. "e2e4" or "e7e8n"; returns the reply line sent back to the client.
+    // Illegal moves come back as "ERR" replies from tryMove, without an exception
+    String move(String text) {
+        if (text.length() != 4 && text.length() != 5)
+            throw new ChessException("Lance inválido: " + text);
+        int source = square(text, 0);
+        int target = square(text, 2);
+        String promotion = text.length() == 5 ? promotionLetter(text.charAt(4)) : null;
+        lock.lock();
+        try {
+            if (match.isCheckMate() || match.isStalemate())
+                throw new ChessException("Partida encerrada");
+            MoveResult result = match.tryMove(source, target);
+            if (result != MoveResult.OK)
+                return "ERR " + result.getMessage();
+            if (match.getPromoted() != null && promotion != null)
+                match.replacePromotedPiece(promotion);
+            return "OK " + id + " " + text + " " + status();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    String fen() {
+        lock.lock();
+        try {
+            return match.toFen();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private String status() {
+        if (match.isCheckMate())
+            return "CHECKMATE";
+        if (match.isStalemate())
+            return "STALEMATE";
+        return match.isCheck() ? "CHECK" : "-";
+    }
+
+    // -1 for a square off the board, which tryMove rejects
+    private static int square(String text, int offset) {
+        int column = text.charAt(offset) - 'a';
+        int row = '8' - text.charAt(offset + 1);
+        if (column < 0 || column > 7 || row < 0 || row > 7)
+            return -1;
+        return row * 8 + column;
+    }
+
+    // Coordinate notation uses English letters, replacePromotedPiece the Portuguese ones
+    private static String promotionLetter(char c) {
+        switch (Character.toLowerCase(c)) {
+            case 'n': return "C";
+            case 'b': return "B";
+            case 'r': return "T";
+            case 'q': return "R";
+            default: throw new ChessException("Promoção inválida: " + c);
+        }
+    }
+}
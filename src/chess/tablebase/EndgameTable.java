@@ -0,0 +1,103 @@
+package chess.tablebase;
+
+import chess.ChessException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// One byte per position: bits 6-7 hold the result for the side to move, bits 0-5 the distance to mate
+// in moves. Positions are indexed by the squares of the pieces in Material slot order, six bits each,
+// followed by the side to move in the lowest bit
+public class EndgameTable {
+
+    public static final int ILLEGAL = 0;
+    public static final int DRAW = 1;
+    public static final int WIN = 2;
+    public static final int LOSS = 3;
+
+    public static final int MAX_DTM = 63;
+
+    private static final int MAGIC = 0x58544231;
+
+    private final Material material;
+    private final ByteBuffer values;
+
+    EndgameTable(Material material, ByteBuffer values) {
+        this.material = material;
+        this.values = values;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public long size() {
+        return values.capacity();
+    }
+
+    static long size(Material material) {
+        return 2L << (6 * material.size());
+    }
+
+    int value(int index) {
+        return values.get(index) & 0xFF;
+    }
+
+    static int encode(int result, int dtm) {
+        return (result << 6) | dtm;
+    }
+
+    static int result(int value) {
+        return value >>> 6;
+    }
+
+    static int dtm(int value) {
+        return value & MAX_DTM;
+    }
+
+    // Plies until mate: a win in n moves takes 2n - 1 plies, a loss in n moves 2n
+    static int plies(int value) {
+        int dtm = dtm(value);
+        return result(value) == WIN ? 2 * dtm - 1 : 2 * dtm;
+    }
+
+    // Header: int magic, short signature length, signature bytes; then one byte per position
+    public void save(Path path) throws IOException {
+        byte[] signature = material.getSignature().getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer header = ByteBuffer.allocate(6 + signature.length);
+        header.putInt(MAGIC).putShort((short) signature.length).put(signature).flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining())
+                channel.write(header);
+            ByteBuffer body = values.duplicate();
+            body.clear();
+            while (body.hasRemaining())
+                channel.write(body);
+        }
+    }
+
+    // Maps the values straight from the file; the mapping stays valid after the channel is closed
+    public static EndgameTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(6);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < 6 || header.getInt() != MAGIC)
+                throw new ChessException("Arquivo de tabela inválido: " + path);
+            ByteBuffer signature = ByteBuffer.allocate(header.getShort());
+            while (signature.hasRemaining() && channel.read(signature) >= 0) {
+            }
+            Material material = Material.parse(new String(signature.array(), StandardCharsets.US_ASCII));
+            long offset = 6L + signature.capacity();
+            if (channel.size() - offset != size(material))
+                throw new ChessException("Tamanho de tabela inválido: " + path);
+            return new EndgameTable(material, channel.map(FileChannel.MapMode.READ_ONLY, offset, size(material)));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package chess.tablebase;
+
+import chess.ChessException;
+import chess.Color;
+import chess.PieceType;
+
+import java.util.Arrays;
+
+// A set of pieces such as "KQKR": White's pieces, then Black's, each starting with the king.
+// Tables are only built for the canonical orientation, where White has the stronger side
+public final class Material {
+
+    public static final int MIN_PIECES = 3;
+    public static final int MAX_PIECES = 4;
+
+    // Order of pieces inside a side, strongest first
+    private static final String LETTERS = "KQRBNP";
+    private static final PieceType[] LETTER_TYPES = {
+            PieceType.KING, PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT, PieceType.PAWN
+    };
+    private static final int[] LETTER_VALUES = {0, 9, 5, 3, 3, 1};
+
+    private final String white;
+    private final String black;
+    private final PieceType[] types;
+    private final Color[] colors;
+
+    private Material(String white, String black) {
+        this.white = white;
+        this.black = black;
+        String all = white + black;
+        types = new PieceType[all.length()];
+        colors = new Color[all.length()];
+        for (int i = 0; i < all.length(); i++) {
+            types[i] = LETTER_TYPES[LETTERS.indexOf(all.charAt(i))];
+            colors[i] = i < white.length() ? Color.WHITE : Color.BLACK;
+        }
+    }
+
+    public static Material parse(String signature) {
+        String s = signature.trim().toUpperCase();
+        int second = s.indexOf('K', 1);
+        if (!s.startsWith("K") || second < 0)
+            throw new ChessException("Material inválido: " + signature);
+        String white = sorted(s.substring(0, second), signature);
+        String black = sorted(s.substring(second), signature);
+        int pieces = white.length() + black.length();
+        if (pieces < MIN_PIECES || pieces > MAX_PIECES)
+            throw new ChessException("Tabelas cobrem de " + MIN_PIECES + " a " + MAX_PIECES + " peças: " + signature);
+        return new Material(white, black);
+    }
+
+    // Material of the pieces given by type and color, in any order; may have just two kings
+    static Material of(PieceType[] types, Color[] colors, int count) {
+        StringBuilder white = new StringBuilder();
+        StringBuilder black = new StringBuilder();
+        for (int i = 0; i < count; i++)
+            (colors[i] == Color.WHITE ? white : black).append(letter(types[i]));
+        return new Material(sorted(white.toString(), null), sorted(black.toString(), null));
+    }
+
+    public boolean isCanonical() {
+        return compareSides(white, black) >= 0;
+    }
+
+    // Same pieces with the colors swapped
+    public Material flipped() {
+        return new Material(black, white);
+    }
+
+    public Material canonical() {
+        return isCanonical() ? this : flipped();
+    }
+
+    public int size() {
+        return types.length;
+    }
+
+    public boolean isBareKings() {
+        return types.length == 2;
+    }
+
+    // Both sides have pawns, so en passant captures are possible
+    public boolean hasOpposingPawns() {
+        return white.indexOf('P') >= 0 && black.indexOf('P') >= 0;
+    }
+
+    // Pieces in slot order: White's king, White's other pieces, Black's king, Black's other pieces
+    PieceType type(int slot) {
+        return types[slot];
+    }
+
+    Color color(int slot) {
+        return colors[slot];
+    }
+
+    public String getSignature() {
+        return white + black;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Material && ((Material) o).getSignature().equals(getSignature());
+    }
+
+    @Override
+    public int hashCode() {
+        return getSignature().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getSignature();
+    }
+
+    static char letter(PieceType type) {
+        for (int i = 0; i < LETTER_TYPES.length; i++) {
+            if (LETTER_TYPES[i] == type)
+                return LETTERS.charAt(i);
+        }
+        throw new IllegalArgumentException(String.valueOf(type));
+    }
+
+    private static String sorted(String side, String signature) {
+        char[] letters = side.toCharArray();
+        for (char c : letters) {
+            if (LETTERS.indexOf(c) < 0)
+                throw new ChessException("Peça inválida '" + c + "' em " + signature);
+        }
+        Integer[] order = new Integer[letters.length];
+        for (int i = 0; i < letters.length; i++)
+            order[i] = LETTERS.indexOf(letters[i]);
+        Arrays.sort(order);
+        StringBuilder sb = new StringBuilder();
+        for (int index : order)
+            sb.append(LETTERS.charAt(index));
+        String result = sb.toString();
+        if (result.indexOf('K') != 0 || result.lastIndexOf('K') != 0)
+            throw new ChessException("Cada lado precisa de exatamente um rei: " + signature);
+        return result;
+    }
+
+    // More pieces first, then more material, then the letter order
+    private static int compareSides(String a, String b) {
+        if (a.length() != b.length())
+            return Integer.compare(a.length(), b.length());
+        int va = value(a);
+        int vb = value(b);
+        if (va != vb)
+            return Integer.compare(va, vb);
+        return b.compareTo(a);
+    }
+
+    private static int value(String side) {
+        int value = 0;
+        for (int i = 0; i < side.length(); i++)
+            value += LETTER_VALUES[LETTERS.indexOf(side.charAt(i))];
+        return value;
+    }
+}
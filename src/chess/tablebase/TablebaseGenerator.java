@@ -0,0 +1,442 @@
+package chess.tablebase;
+
+import chess.Attacks;
+import chess.ChessException;
+import chess.Color;
+import chess.PieceType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Retrograde analysis: mates are found first, then each pass walks moves backwards from the positions
+// resolved in the previous ply. Captures and promotions leave the table and are scored from the smaller
+// tables, which must already exist. Every pass is split in index ranges over the worker pool.
+// Positions carry no en passant state and double pushes are walked back like any other push, so material
+// with pawns on both sides is refused: the defender's en passant replies would be missing from the values
+final class TablebaseGenerator {
+
+    private static final int CHUNK = 1 << 16;
+    private static final int UNRESOLVED = EndgameTable.encode(EndgameTable.DRAW, 0);
+    private static final int CAN_DRAW = 0x80;
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+    private static final VarHandle COUNTERS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Material material;
+    private final int pieces;
+    private final int size;
+    private final Function<Material, EndgameTable> tables;
+    private final Exit[] exits;
+
+    private final byte[] values;
+    // Moves that stay in the table and are not yet known to lose. Kept as int: a byte-wide getAndAdd
+    // returned wrong counts once JIT-compiled on JDK 17
+    private final int[] counters;
+    // Fastest win through a capture or promotion, in plies, or 0
+    private final byte[] exitWins;
+    // Slowest loss through a capture or promotion, in plies, plus CAN_DRAW when one of them draws
+    private final byte[] exitLosses;
+
+    TablebaseGenerator(Material material, Function<Material, EndgameTable> tables) {
+        if (material.hasOpposingPawns())
+            throw new ChessException(Tablebases.OPPOSING_PAWNS + material);
+        this.material = material;
+        this.tables = tables;
+        pieces = material.size();
+        size = (int) EndgameTable.size(material);
+        values = new byte[size];
+        counters = new int[size];
+        exitWins = new byte[size];
+        exitLosses = new byte[size];
+        exits = new Exit[(pieces + 1) * (pieces + 1) * (PROMOTIONS.length + 1)];
+    }
+
+    EndgameTable generate(ExecutorService executor) {
+        AtomicInteger pending = new AtomicInteger();
+        parallel(executor, (start, end) -> {
+            int[] squares = new int[pieces];
+            int[] moved = new int[pieces];
+            int latest = 0;
+            for (int index = start; index < end; index++)
+                latest = Math.max(latest, initialize(index, squares, moved));
+            pending.accumulateAndGet(latest, Math::max);
+            return false;
+        });
+
+        for (int ply = 1; ; ply++) {
+            if (ply > 2 * EndgameTable.MAX_DTM)
+                throw new ChessException("Distância até o mate excede o limite em " + material);
+            int level = ply;
+            boolean changed = parallel(executor, (start, end) -> {
+                int[] squares = new int[pieces];
+                boolean any = false;
+                for (int index = start; index < end; index++)
+                    any |= visit(index, level, squares);
+                return any;
+            });
+            if (!changed && ply >= pending.get())
+                break;
+        }
+        return new EndgameTable(material, ByteBuffer.wrap(values));
+    }
+
+    // Returns the latest ply an exit can resolve this position at
+    private int initialize(int index, int[] squares, int[] moved) {
+        int stm = index & 1;
+        decode(index, squares);
+        if (!isValid(squares, stm)) {
+            values[index] = EndgameTable.ILLEGAL;
+            return 0;
+        }
+        values[index] = (byte) UNRESOLVED;
+
+        long occupied = occupancy(squares, -1);
+        int inTable = 0;
+        int bestWin = 0;
+        int worstLoss = 0;
+        boolean canDraw = false;
+        boolean anyMove = false;
+
+        for (int slot = 0; slot < pieces; slot++) {
+            if (material.color(slot).ordinal() != colorOrdinal(stm))
+                continue;
+            int from = squares[slot];
+            PieceType type = material.type(slot);
+            long own = ownOccupancy(squares, stm);
+            long targets;
+            if (type == PieceType.PAWN) {
+                targets = pawnPushes(from, stm, occupied) | (Attacks.pawn(material.color(slot), from) & occupied & ~own);
+            }
+            else
+                targets = attacks(type, material.color(slot), from, occupied) & ~own;
+
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                int captured = slotAt(squares, to);
+                System.arraycopy(squares, 0, moved, 0, pieces);
+                moved[slot] = to;
+                if (isAttacked(moved, kingSlot(stm), stm ^ 1, captured))
+                    continue;
+                anyMove = true;
+
+                boolean promotion = type == PieceType.PAWN && isLastRow(to);
+                if (captured < 0 && !promotion) {
+                    inTable++;
+                    continue;
+                }
+                for (int p = promotion ? 1 : 0; p <= (promotion ? PROMOTIONS.length : 0); p++) {
+                    int value = exit(captured, promotion ? slot : -1, p).probe(moved, stm ^ 1);
+                    int result = EndgameTable.result(value);
+                    if (result == EndgameTable.LOSS) {
+                        int plies = EndgameTable.plies(value) + 1;
+                        bestWin = bestWin == 0 ? plies : Math.min(bestWin, plies);
+                    }
+                    else if (result == EndgameTable.WIN)
+                        worstLoss = Math.max(worstLoss, EndgameTable.plies(value) + 1);
+                    else if (result == EndgameTable.DRAW)
+                        canDraw = true;
+                    else
+                        throw new IllegalStateException("Posição ilegal após captura em " + material);
+                }
+            }
+        }
+
+        if (!anyMove) {
+            if (isAttacked(squares, kingSlot(stm), stm ^ 1, -1))
+                values[index] = (byte) EndgameTable.encode(EndgameTable.LOSS, 0);
+            else
+                exitLosses[index] = (byte) CAN_DRAW;
+            return 0;
+        }
+        counters[index] = inTable;
+        exitWins[index] = (byte) bestWin;
+        exitLosses[index] = (byte) (worstLoss | (canDraw ? CAN_DRAW : 0));
+        return Math.max(bestWin, worstLoss);
+    }
+
+    // One retrograde step at the given ply; returns whether any position was resolved
+    private boolean visit(int index, int ply, int[] squares) {
+        int value = values[index] & 0xFF;
+        boolean changed = false;
+        if (value == UNRESOLVED) {
+            if (ply % 2 == 1 && (exitWins[index] & 0xFF) == ply)
+                changed = resolve(index, EndgameTable.WIN, ply);
+            else if (ply % 2 == 0 && counters[index] == 0 && canLose(index) && (exitLosses[index] & 0xFF) == ply)
+                changed = resolve(index, EndgameTable.LOSS, ply);
+            return changed;
+        }
+        if (value == EndgameTable.ILLEGAL || EndgameTable.plies(value) != ply - 1)
+            return false;
+
+        // Walk every non-capturing move of the side that just moved back to its origin
+        int stm = index & 1;
+        int mover = stm ^ 1;
+        decode(index, squares);
+        long occupied = occupancy(squares, -1);
+        for (int slot = 0; slot < pieces; slot++) {
+            if (material.color(slot).ordinal() != colorOrdinal(mover))
+                continue;
+            int to = squares[slot];
+            PieceType type = material.type(slot);
+            long origins = type == PieceType.PAWN ? pawnOrigins(to, mover, occupied)
+                    : attacks(type, material.color(slot), to, occupied) & ~occupied;
+            while (origins != 0) {
+                int from = Long.numberOfTrailingZeros(origins);
+                origins &= origins - 1;
+                int previous = (index & ~1 & ~(63 << (1 + 6 * slot))) | (from << (1 + 6 * slot)) | mover;
+                if ((values[previous] & 0xFF) != UNRESOLVED)
+                    continue;
+                if (ply % 2 == 1)
+                    changed |= resolve(previous, EndgameTable.WIN, ply);
+                else {
+                    int left = (int) COUNTERS.getAndAdd(counters, previous, -1) - 1;
+                    if (left == 0 && canLose(previous) && (exitLosses[previous] & 0x7F) <= ply)
+                        changed |= resolve(previous, EndgameTable.LOSS, ply);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private boolean canLose(int index) {
+        return exitWins[index] == 0 && (exitLosses[index] & CAN_DRAW) == 0;
+    }
+
+    private boolean resolve(int index, int result, int ply) {
+        int dtm = result == EndgameTable.WIN ? (ply + 1) / 2 : ply / 2;
+        values[index] = (byte) EndgameTable.encode(result, dtm);
+        return true;
+    }
+
+    private Exit exit(int captured, int promoted, int promotion) {
+        int key = ((captured + 1) * (pieces + 1) + (promoted + 1)) * (PROMOTIONS.length + 1) + promotion;
+        Exit exit = exits[key];
+        if (exit == null) {
+            exit = new Exit(captured, promoted, promotion == 0 ? null : PROMOTIONS[promotion - 1]);
+            exits[key] = exit;
+        }
+        return exit;
+    }
+
+    private boolean isValid(int[] squares, int stm) {
+        long seen = 0L;
+        for (int slot = 0; slot < pieces; slot++) {
+            long b = 1L << squares[slot];
+            if ((seen & b) != 0)
+                return false;
+            seen |= b;
+            if (material.type(slot) == PieceType.PAWN && isLastRow(squares[slot]))
+                return false;
+        }
+        // The side that just moved cannot be left in check
+        return !isAttacked(squares, kingSlot(stm ^ 1), stm, -1);
+    }
+
+    // Whether the piece in target slot is attacked by color; the piece in skip, if any, has been captured
+    private boolean isAttacked(int[] squares, int target, int color, int skip) {
+        int square = squares[target];
+        long occupied = occupancy(squares, skip);
+        for (int slot = 0; slot < pieces; slot++) {
+            if (slot == skip || slot == target || material.color(slot).ordinal() != colorOrdinal(color))
+                continue;
+            if ((attacks(material.type(slot), material.color(slot), squares[slot], occupied) & (1L << square)) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    private int kingSlot(int stm) {
+        for (int slot = 0; slot < pieces; slot++) {
+            if (material.type(slot) == PieceType.KING && material.color(slot).ordinal() == colorOrdinal(stm))
+                return slot;
+        }
+        throw new IllegalStateException("Material sem rei");
+    }
+
+    private int slotAt(int[] squares, int square) {
+        for (int slot = 0; slot < pieces; slot++) {
+            if (squares[slot] == square)
+                return slot;
+        }
+        return -1;
+    }
+
+    private long occupancy(int[] squares, int skip) {
+        long occupied = 0L;
+        for (int slot = 0; slot < pieces; slot++) {
+            if (slot != skip)
+                occupied |= 1L << squares[slot];
+        }
+        return occupied;
+    }
+
+    private long ownOccupancy(int[] squares, int stm) {
+        long own = 0L;
+        for (int slot = 0; slot < pieces; slot++) {
+            if (material.color(slot).ordinal() == colorOrdinal(stm))
+                own |= 1L << squares[slot];
+        }
+        return own;
+    }
+
+    private void decode(int index, int[] squares) {
+        for (int slot = 0; slot < pieces; slot++)
+            squares[slot] = (index >>> (1 + 6 * slot)) & 63;
+    }
+
+    static int encode(int[] squares, int count, int stm) {
+        int index = stm;
+        for (int slot = 0; slot < count; slot++)
+            index |= squares[slot] << (1 + 6 * slot);
+        return index;
+    }
+
+    // Side to move 0 is White, whose pawns advance towards row 0
+    static int colorOrdinal(int stm) {
+        return stm == 0 ? Color.WHITE.ordinal() : Color.BLACK.ordinal();
+    }
+
+    private static long pawnPushes(int from, int stm, long occupied) {
+        int direction = stm == 0 ? -8 : 8;
+        int one = from + direction;
+        if ((occupied & (1L << one)) != 0)
+            return 0L;
+        long pushes = 1L << one;
+        int startRow = stm == 0 ? 6 : 1;
+        if ((from >>> 3) == startRow && (occupied & (1L << (one + direction))) == 0)
+            pushes |= 1L << (one + direction);
+        return pushes;
+    }
+
+    // Squares a pawn now on to could have come from with a quiet push
+    private static long pawnOrigins(int to, int mover, long occupied) {
+        int direction = mover == 0 ? 8 : -8;
+        int one = to + direction;
+        if (one < 0 || one >= 64 || (occupied & (1L << one)) != 0)
+            return 0L;
+        int row = one >>> 3;
+        if (row == 0 || row == 7)
+            return 0L;
+        long origins = 1L << one;
+        int startRow = mover == 0 ? 6 : 1;
+        int two = one + direction;
+        if ((two >>> 3) == startRow && (occupied & (1L << two)) == 0)
+            origins |= 1L << two;
+        return origins;
+    }
+
+    private static long attacks(PieceType type, Color color, int square, long occupied) {
+        switch (type) {
+            case PAWN: return Attacks.pawn(color, square);
+            case KNIGHT: return Attacks.knight(square);
+            case BISHOP: return Attacks.bishop(square, occupied);
+            case ROOK: return Attacks.rook(square, occupied);
+            case QUEEN: return Attacks.queen(square, occupied);
+            default: return Attacks.king(square);
+        }
+    }
+
+    // Row 0 or 7, where no pawn can stand
+    private static boolean isLastRow(int square) {
+        return square < 8 || square >= 56;
+    }
+
+    private interface Range {
+        boolean run(int start, int end);
+    }
+
+    private boolean parallel(ExecutorService executor, Range range) {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int start = 0; start < size; start += CHUNK) {
+            int s = start;
+            int e = Math.min(size, start + CHUNK);
+            tasks.add(() -> range.run(s, e));
+        }
+        boolean any = false;
+        try {
+            for (Future<Boolean> future : executor.invokeAll(tasks))
+                any |= future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChessException("Geração interrompida");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        return any;
+    }
+
+    // Where a capture and/or promotion lands: the smaller table, whether colors are swapped there,
+    // and which of our slots fills each of its slots
+    private final class Exit {
+
+        private final EndgameTable table;
+        private final boolean flip;
+        private final int[] sources;
+
+        Exit(int captured, int promoted, PieceType promotion) {
+            int count = 0;
+            PieceType[] types = new PieceType[pieces];
+            Color[] colors = new Color[pieces];
+            int[] slots = new int[pieces];
+            for (int slot = 0; slot < pieces; slot++) {
+                if (slot == captured)
+                    continue;
+                types[count] = slot == promoted ? promotion : material.type(slot);
+                colors[count] = material.color(slot);
+                slots[count++] = slot;
+            }
+            Material result = Material.of(types, colors, count);
+            flip = !result.isCanonical();
+            Material canonical = result.canonical();
+            if (canonical.isBareKings()) {
+                table = null;
+                sources = null;
+                return;
+            }
+            table = tables.apply(canonical);
+            if (table == null)
+                throw new ChessException("Tabela " + canonical + " precisa ser gerada antes de " + material);
+
+            sources = new int[count];
+            boolean[] used = new boolean[count];
+            for (int target = 0; target < count; target++) {
+                Color wanted = flip ? opposite(canonical.color(target)) : canonical.color(target);
+                for (int i = 0; i < count; i++) {
+                    if (!used[i] && types[i] == canonical.type(target) && colors[i] == wanted) {
+                        used[i] = true;
+                        sources[target] = slots[i];
+                        break;
+                    }
+                }
+            }
+        }
+
+        int probe(int[] squares, int stm) {
+            if (table == null)
+                return EndgameTable.encode(EndgameTable.DRAW, 0);
+            int index = flip ? stm ^ 1 : stm;
+            for (int target = 0; target < sources.length; target++) {
+                int square = squares[sources[target]];
+                index |= (flip ? square ^ 56 : square) << (1 + 6 * target);
+            }
+            return table.value(index);
+        }
+    }
+
+    private static Color opposite(Color color) {
+        return color == Color.WHITE ? Color.BLACK : Color.WHITE;
+    }
+}
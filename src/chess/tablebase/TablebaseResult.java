@@ -0,0 +1,47 @@
+package chess.tablebase;
+
+public class TablebaseResult {
+
+    private final int result;
+    private final int distanceToMate;
+
+    TablebaseResult(int result, int distanceToMate) {
+        this.result = result;
+        this.distanceToMate = distanceToMate;
+    }
+
+    // EndgameTable.WIN, DRAW or LOSS for the side to move
+    public int getResult() {
+        return result;
+    }
+
+    public boolean isWin() {
+        return result == EndgameTable.WIN;
+    }
+
+    public boolean isLoss() {
+        return result == EndgameTable.LOSS;
+    }
+
+    public boolean isDraw() {
+        return result == EndgameTable.DRAW;
+    }
+
+    // Moves until mate with perfect play, 0 for draws and for a side already mated
+    public int getDistanceToMate() {
+        return distanceToMate;
+    }
+
+    public int getPlies() {
+        return EndgameTable.plies(EndgameTable.encode(result, distanceToMate));
+    }
+
+    @Override
+    public String toString() {
+        switch (result) {
+            case EndgameTable.WIN: return "Vitória, mate em " + distanceToMate;
+            case EndgameTable.LOSS: return distanceToMate == 0 ? "Derrota, xeque-mate" : "Derrota, mate em " + distanceToMate;
+            default: return "Empate";
+        }
+    }
+}
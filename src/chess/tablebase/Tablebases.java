@@ -0,0 +1,241 @@
+package chess.tablebase;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Color;
+import chess.Move;
+import chess.PieceType;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The set of generated or loaded tables, probed with any ChessMatch whose material they cover
+public class Tablebases {
+
+    public static final String EXTENSION = ".tb";
+
+    static final String OPPOSING_PAWNS = "Tabelas com peões dos dois lados não são suportadas (en passant): ";
+
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    private final Map<Material, EndgameTable> tables = new ConcurrentHashMap<>();
+
+    public Collection<EndgameTable> getTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    public boolean contains(Material material) {
+        return tables.containsKey(material.canonical());
+    }
+
+    public void add(EndgameTable table) {
+        tables.put(table.getMaterial(), table);
+    }
+
+    // Builds the table and, first, every smaller table it can reach through captures and promotions.
+    // Material with pawns on both sides is refused; see TablebaseGenerator
+    public EndgameTable generate(String signature, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Número de threads deve ser ao menos 1");
+        Material material = Material.parse(signature).canonical();
+        if (material.hasOpposingPawns())
+            throw new ChessException(OPPOSING_PAWNS + material);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "tablebase");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            return generate(material, executor);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private EndgameTable generate(Material material, ExecutorService executor) {
+        EndgameTable table = tables.get(material);
+        if (table != null)
+            return table;
+        for (Material dependency : dependencies(material)) {
+            if (!dependency.isBareKings())
+                generate(dependency, executor);
+        }
+        table = new TablebaseGenerator(material, tables::get).generate(executor);
+        tables.put(material, table);
+        return table;
+    }
+
+    private static List<Material> dependencies(Material material) {
+        int n = material.size();
+        List<Material> result = new ArrayList<>();
+        PieceType[] types = new PieceType[n];
+        Color[] colors = new Color[n];
+        for (int captured = -1; captured < n; captured++) {
+            if (captured >= 0 && material.type(captured) == PieceType.KING)
+                continue;
+            for (int promoted = -1; promoted < n; promoted++) {
+                if (promoted >= 0 && (promoted == captured || material.type(promoted) != PieceType.PAWN))
+                    continue;
+                if (captured < 0 && promoted < 0)
+                    continue;
+                for (PieceType promotion : promoted < 0 ? new PieceType[]{null} : PROMOTIONS) {
+                    int count = 0;
+                    for (int slot = 0; slot < n; slot++) {
+                        if (slot == captured)
+                            continue;
+                        types[count] = slot == promoted ? promotion : material.type(slot);
+                        colors[count++] = material.color(slot);
+                    }
+                    Material dependency = Material.of(types, colors, count).canonical();
+                    if (!result.contains(dependency))
+                        result.add(dependency);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Writes each table as <signature>.tb
+    public void save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (EndgameTable table : tables.values())
+            table.save(directory.resolve(table.getMaterial().getSignature() + EXTENSION));
+    }
+
+    // Maps every table file in the directory; returns how many were loaded
+    public int load(Path directory) throws IOException {
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                EndgameTable table = EndgameTable.load(file);
+                // Written by an older generator that ignored en passant, so its values cannot be trusted
+                if (table.getMaterial().hasOpposingPawns())
+                    throw new ChessException(OPPOSING_PAWNS + file);
+                add(table);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    // Null when the position has castling rights, a possible en passant capture, material not in the set,
+    // or could not arise in a game because the side not to move is in check
+    public TablebaseResult probe(ChessMatch match) {
+        int value = value(match);
+        if (value < 0)
+            return null;
+        if (value == EndgameTable.ILLEGAL)
+            throw new ChessException("Posição ilegal para as tabelas: " + match.toFen());
+        return new TablebaseResult(EndgameTable.result(value), EndgameTable.dtm(value));
+    }
+
+    // The legal move keeping the best result: fastest win, else a draw, else the slowest loss.
+    // Move.NONE when the position is not covered or has no legal moves
+    public int bestMove(ChessMatch match) {
+        // A finished match keeps the winner as current player, who has nothing left to play
+        if (match.isCheckMate() || value(match) <= EndgameTable.ILLEGAL)
+            return Move.NONE;
+        ChessMatch child = new ChessMatch(match);
+        Color opponent = match.getCurrentPlayer() == Color.WHITE ? Color.BLACK : Color.WHITE;
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        int count = child.legalMoves(moves);
+        int bestMove = Move.NONE;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            // Taking the king would leave the side to move without one
+            if ((match.getPieceMask(opponent, PieceType.KING) & (1L << Move.to(moves[i]))) != 0)
+                continue;
+            child.makeMove(moves[i]);
+            int value = value(child);
+            child.undoMove(moves[i]);
+            if (value <= EndgameTable.ILLEGAL)
+                continue;
+            int rank = rank(value);
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = moves[i];
+            }
+        }
+        return bestMove;
+    }
+
+    // Orders the opponent's results after our move from worst to best for us
+    private static int rank(int value) {
+        switch (EndgameTable.result(value)) {
+            case EndgameTable.LOSS: return 1000 - EndgameTable.dtm(value);
+            case EndgameTable.DRAW: return 0;
+            default: return EndgameTable.dtm(value) - 1000;
+        }
+    }
+
+    // The table value, EndgameTable.ILLEGAL included, or -1 when the position is not covered
+    private int value(ChessMatch match) {
+        if (Long.bitCount(match.getOccupied()) > Material.MAX_PIECES || match.getCastlingRights() != 0)
+            return -1;
+        for (Color color : Color.values()) {
+            if (Long.bitCount(match.getPieceMask(color, PieceType.KING)) != 1)
+                return -1;
+        }
+        Color side = match.getCurrentPlayer();
+        Color other = side == Color.WHITE ? Color.BLACK : Color.WHITE;
+        if (match.testCheck(other)) {
+            // A match finished by performChessMove keeps the winner as current player; otherwise the
+            // side not to move is in check and the position cannot occur
+            if (!match.isCheckMate())
+                return -1;
+            side = other;
+        }
+        if (match.getEnPassantVulnerable() != null && match.getPieceMask(side, PieceType.PAWN) != 0)
+            return -1;
+
+        PieceType[] types = new PieceType[Material.MAX_PIECES];
+        Color[] colors = new Color[Material.MAX_PIECES];
+        int[] squares = new int[Material.MAX_PIECES];
+        int count = 0;
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                long mask = match.getPieceMask(color, type);
+                while (mask != 0) {
+                    types[count] = type;
+                    colors[count] = color;
+                    squares[count++] = Long.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                }
+            }
+        }
+        Material material = Material.of(types, colors, count);
+        if (material.isBareKings())
+            return EndgameTable.encode(EndgameTable.DRAW, 0);
+        boolean flip = !material.isCanonical();
+        EndgameTable table = tables.get(material.canonical());
+        if (table == null)
+            return -1;
+
+        Material canonical = table.getMaterial();
+        int stm = (side == Color.WHITE) != flip ? 0 : 1;
+        int[] slots = new int[count];
+        boolean[] used = new boolean[count];
+        for (int target = 0; target < count; target++) {
+            Color wanted = flip ? (canonical.color(target) == Color.WHITE ? Color.BLACK : Color.WHITE) : canonical.color(target);
+            for (int i = 0; i < count; i++) {
+                if (!used[i] && types[i] == canonical.type(target) && colors[i] == wanted) {
+                    used[i] = true;
+                    slots[target] = flip ? squares[i] ^ 56 : squares[i];
+                    break;
+                }
+            }
+        }
+        return table.value(TablebaseGenerator.encode(slots, count, stm));
+    }
+}
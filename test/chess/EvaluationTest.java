@@ -0,0 +1,56 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EvaluationTest {
+
+    private static final String[] PROMOTION_LETTERS = {"B", "C", "R", "T"};
+    // Pawns one step from promotion on both sides, so random games promote early and often
+    private static final String PROMOTIONS = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+
+    @Test
+    void incrementalScoreFollowsMakeAndUndo() {
+        Random random = new Random(11);
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        for (int game = 0; game < 50; game++) {
+            ChessMatch match = new ChessMatch(game % 2 == 0 ? Fen.INITIAL_POSITION : PROMOTIONS);
+            int[] played = new int[200];
+            int plies = 0;
+            while (plies < played.length) {
+                int count = match.legalMoves(moves);
+                if (count == 0)
+                    break;
+                played[plies] = moves[random.nextInt(count)];
+                match.makeMove(played[plies++]);
+                assertEquals(match.recomputeEvaluation(), match.getEvaluation(), "lance " + plies);
+            }
+            while (plies > 0) {
+                match.undoMove(played[--plies]);
+                assertEquals(match.recomputeEvaluation(), match.getEvaluation(), "desfazendo lance " + plies);
+            }
+        }
+    }
+
+    @Test
+    void incrementalScoreFollowsPerformChessMoveAndPromotion() {
+        Random random = new Random(12);
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        for (int game = 0; game < 50; game++) {
+            ChessMatch match = new ChessMatch(game % 2 == 0 ? Fen.INITIAL_POSITION : PROMOTIONS);
+            for (int ply = 0; ply < 200 && !match.isCheckMate() && !match.isStalemate(); ply++) {
+                int count = match.legalMoves(moves);
+                int move = moves[random.nextInt(count)];
+                assertEquals(MoveResult.OK, match.tryMove(Move.from(move), Move.to(move)));
+                assertEquals(match.recomputeEvaluation(), match.getEvaluation(), "lance " + ply);
+                if (match.getPromoted() != null) {
+                    match.replacePromotedPiece(PROMOTION_LETTERS[random.nextInt(PROMOTION_LETTERS.length)]);
+                    assertEquals(match.recomputeEvaluation(), match.getEvaluation(), "promoção no lance " + ply);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FenTest {
+
+    @Test
+    void roundTrips() {
+        String[] fens = {
+                Fen.INITIAL_POSITION,
+                "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+                "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 3",
+                "r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1",
+                "r3k2r/8/8/8/8/8/8/R3K2R b Qk - 0 12",
+                "r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1",
+                "8/8/8/8/8/8/8/K1k4Q b - - 0 40",
+        };
+        for (String fen : fens) {
+            assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+            assertEquals(fen, new ChessMatch(fen).toFen());
+        }
+    }
+
+    @Test
+    void readsEachField() {
+        GameState state = Fen.parse("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 3");
+        assertEquals(Color.WHITE, state.getSideToMove());
+        assertEquals(ChessMatch.WHITE_KINGSIDE | ChessMatch.WHITE_QUEENSIDE
+                | ChessMatch.BLACK_KINGSIDE | ChessMatch.BLACK_QUEENSIDE, state.getCastlingRights());
+        // Kept as the square of the pawn that advanced, d5
+        assertEquals(ChessBoard.square(3, 3), state.getEnPassantSquare());
+        assertEquals(5, state.getTurn());
+
+        GameState black = Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R b Qk - 0 12");
+        assertEquals(Color.BLACK, black.getSideToMove());
+        assertEquals(ChessMatch.WHITE_QUEENSIDE | ChessMatch.BLACK_KINGSIDE, black.getCastlingRights());
+        assertEquals(-1, black.getEnPassantSquare());
+        assertEquals(24, black.getTurn());
+    }
+
+    @Test
+    void dropsRightsWithoutKingOrRookAtHome() {
+        assertEquals("r3k3/8/8/8/8/8/8/4K2R w Kq - 0 1", Fen.toFen(Fen.parse("r3k3/8/8/8/8/8/8/4K2R w KQkq - 0 1")));
+    }
+
+    @Test
+    void acceptsEpdWithoutCounters() {
+        assertEquals(Fen.INITIAL_POSITION, Fen.toFen(Fen.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -")));
+    }
+
+    @Test
+    void rejectsSideNotToMoveInCheck() {
+        ChessException e = assertThrows(ChessException.class, () -> Fen.parse("8/8/8/8/8/8/8/K1k4Q w - - 0 1"));
+        assertTrue(e.getMessage().contains("lado que não joga está em xeque"), e.getMessage());
+        assertThrows(ChessException.class, () -> Fen.parse("8/8/8/8/8/8/8/Kk6 w - - 0 1"));
+        assertThrows(ChessException.class, () -> new ChessMatch("4k3/8/8/8/8/8/4R3/4K3 w - - 0 1"));
+    }
+
+    @Test
+    void rejectsMalformedPositions() {
+        String[] fens = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQ1BNR w kq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1",
+                "Pnbqkbnr/pppppppp/8/8/8/8/1PPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e6 0 1",
+        };
+        for (String fen : fens)
+            assertThrows(ChessException.class, () -> Fen.parse(fen), fen);
+    }
+}
@@ -0,0 +1,76 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Squares are row * 8 + column from a8: e2 = 52, e4 = 36, e7 = 12, a1 = 56
+class MoveResultTest {
+
+    // White rook on e2 pinned to its king by the rook on e7
+    private static final String PINNED = "4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1";
+
+    @Test
+    void returnsEachCode() {
+        assertRejected(Fen.INITIAL_POSITION, 36, 28, MoveResult.ILLEGAL_SOURCE);
+        assertRejected(Fen.INITIAL_POSITION, -1, 36, MoveResult.ILLEGAL_SOURCE);
+        assertRejected(Fen.INITIAL_POSITION, 64, 36, MoveResult.ILLEGAL_SOURCE);
+        assertRejected(Fen.INITIAL_POSITION, 12, 28, MoveResult.WRONG_COLOR);
+        assertRejected(Fen.INITIAL_POSITION, 56, 48, MoveResult.NO_MOVES);
+        assertRejected(Fen.INITIAL_POSITION, 52, 28, MoveResult.ILLEGAL_TARGET);
+        assertRejected(Fen.INITIAL_POSITION, 52, -1, MoveResult.ILLEGAL_TARGET);
+        assertRejected(Fen.INITIAL_POSITION, 52, 64, MoveResult.ILLEGAL_TARGET);
+        assertRejected(PINNED, 52, 51, MoveResult.SELF_CHECK);
+    }
+
+    @Test
+    void playsLegalMoves() {
+        ChessMatch match = new ChessMatch();
+        long key = match.getZobristKey();
+        assertEquals(MoveResult.OK, match.tryMove(52, 36));
+        assertTrue(MoveResult.OK.isLegal());
+        assertNull(match.getLastCaptured());
+        assertEquals(Color.BLACK, match.getCurrentPlayer());
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", match.toFen());
+        assertNotEquals(key, match.getZobristKey());
+
+        // The pinned rook may still move along the pin and capture the attacker
+        ChessMatch pinned = new ChessMatch(PINNED);
+        assertEquals(MoveResult.OK, pinned.tryMove(52, 12));
+        assertEquals(PieceType.ROOK, pinned.getLastCaptured().getType());
+    }
+
+    // The messages performChessMove threw before tryMove existed
+    @Test
+    void performChessMoveThrowsTheSameMessages() {
+        assertThrown(Fen.INITIAL_POSITION, 'e', 4, 'e', 5, "Não existe peça nessa posição");
+        assertThrown(Fen.INITIAL_POSITION, 'e', 7, 'e', 5, "Esta peça pertence ao adversário");
+        assertThrown(Fen.INITIAL_POSITION, 'a', 1, 'a', 2, "Não existem movimentos possiveis para esta peça!");
+        assertThrown(Fen.INITIAL_POSITION, 'e', 2, 'e', 5, "Não é possivel mover esta peça para a posição escolhida");
+        assertThrown(PINNED, 'e', 2, 'd', 2, "Você não pode se colocar em check!");
+    }
+
+    private static void assertRejected(String fen, int source, int target, MoveResult expected) {
+        ChessMatch match = new ChessMatch(fen);
+        String before = match.toFen();
+        long key = match.getZobristKey();
+        assertEquals(expected, match.tryMove(source, target));
+        assertEquals(before, match.toFen());
+        assertEquals(key, match.getZobristKey());
+        assertNull(match.getLastCaptured());
+    }
+
+    private static void assertThrown(String fen, char sourceColumn, int sourceRow, char targetColumn, int targetRow,
+                                     String message) {
+        ChessMatch match = new ChessMatch(fen);
+        String before = match.toFen();
+        ChessException e = assertThrows(ChessException.class, () -> match.performChessMove(
+                new ChessPosition(sourceRow, sourceColumn), new ChessPosition(targetRow, targetColumn)));
+        assertEquals(message, e.getMessage());
+        assertEquals(before, match.toFen());
+    }
+}
@@ -0,0 +1,111 @@
+package chess.book;
+
+import chess.ChessMatch;
+import chess.Fen;
+import chess.Move;
+import chess.PieceType;
+import chess.pgn.PgnReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningBookTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String PROMOTIONS = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+
+    private static final String PGN = "[Event \"a\"]\n[Result \"1-0\"]\n\n"
+            + "1. e4 e5 2. Nf3 Nc6 3. Bc4 Bc5 4. O-O Nf6 1-0\n\n"
+            + "[Event \"b\"]\n[Result \"1/2-1/2\"]\n\n"
+            + "1. e4 c5 2. Nf3 d6 1/2-1/2\n\n"
+            + "[Event \"c\"]\n[Result \"0-1\"]\n\n"
+            + "1. d4 d5 2. c4 e6 0-1\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void polyglotEncoding() {
+        ChessMatch start = new ChessMatch();
+        assertEquals(796, OpeningBook.toPolyglot(Move.encode(52, 36), start));
+
+        // Castling is written as the king taking its own rook
+        ChessMatch castling = new ChessMatch(KIWIPETE);
+        assertEquals(263, OpeningBook.toPolyglot(Move.encode(60, 62), castling));
+        assertEquals(256, OpeningBook.toPolyglot(Move.encode(60, 58), castling));
+        assertEquals(Move.encode(60, 62), OpeningBook.fromPolyglot(263, castling));
+        assertEquals(Move.encode(60, 58), OpeningBook.fromPolyglot(256, castling));
+
+        ChessMatch promotion = new ChessMatch("8/P6k/8/8/8/8/8/K7 w - - 0 1");
+        assertEquals(19512, OpeningBook.toPolyglot(Move.encode(8, 0, PieceType.QUEEN), promotion));
+        assertEquals(7224, OpeningBook.toPolyglot(Move.encode(8, 0, PieceType.KNIGHT), promotion));
+        assertEquals(Move.encode(8, 0, PieceType.KNIGHT), OpeningBook.fromPolyglot(7224, promotion));
+    }
+
+    @Test
+    void everyLegalMoveRoundTrips() {
+        Random random = new Random(5);
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        for (String fen : new String[]{Fen.INITIAL_POSITION, KIWIPETE, PROMOTIONS}) {
+            for (int game = 0; game < 20; game++) {
+                ChessMatch match = new ChessMatch(fen);
+                for (int ply = 0; ply < 120; ply++) {
+                    int count = match.legalMoves(moves);
+                    if (count == 0)
+                        break;
+                    for (int i = 0; i < count; i++) {
+                        int polyglot = OpeningBook.toPolyglot(moves[i], match);
+                        assertEquals(moves[i], OpeningBook.fromPolyglot(polyglot, match), match.toFen() + " " + Move.toString(moves[i]));
+                    }
+                    match.makeMove(moves[random.nextInt(count)]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void buildThenProbe() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(8, 1);
+        try (PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(PGN.getBytes(StandardCharsets.UTF_8))))) {
+            assertEquals(0L, builder.addAll(reader));
+        }
+        assertEquals(3L, builder.getGames());
+        Path path = dir.resolve("livro.bin");
+        int written = builder.write(path);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(written, book.size());
+
+            // 1. d4 only ever lost, so it has no weight and is left out
+            ChessMatch match = new ChessMatch();
+            List<BookMove> moves = book.candidates(match);
+            assertEquals(1, moves.size());
+            assertEquals("e2e4", Move.toString(moves.get(0).getMove()));
+            assertEquals(3, moves.get(0).getWeight());
+            assertEquals(moves.get(0).getMove(), book.pick(match, new Random(1)));
+
+            match.makeMove(moves.get(0).getMove());
+            moves = book.candidates(match);
+            assertEquals(1, moves.size());
+            assertEquals("c7c5", Move.toString(moves.get(0).getMove()));
+
+            ChessMatch italian = new ChessMatch("r1bqk1nr/pppp1ppp/2n5/2b1p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4");
+            moves = book.candidates(italian);
+            assertEquals(1, moves.size());
+            assertEquals("e1g1", Move.toString(moves.get(0).getMove()));
+
+            assertTrue(book.candidates(new ChessMatch(KIWIPETE)).isEmpty());
+            assertEquals(Move.NONE, book.pick(new ChessMatch(KIWIPETE), new Random(1)));
+        }
+    }
+}
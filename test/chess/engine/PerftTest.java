@@ -0,0 +1,69 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Reference counts from the Chess Programming Wiki perft results page
+class PerftTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+
+    @Test
+    void initialPosition() {
+        for (int depth = 0; depth <= 4; depth++)
+            assertEquals(Perft.INITIAL_POSITION_COUNTS[depth], Perft.perft(new ChessMatch(), depth), "profundidade " + depth);
+    }
+
+    @Test
+    void kiwipete() {
+        assertCounts(KIWIPETE, 48L, 2039L, 97862L);
+    }
+
+    @Test
+    void position3() {
+        assertCounts(POSITION_3, 14L, 191L, 2812L, 43238L, 674624L);
+    }
+
+    @Test
+    void position4() {
+        assertCounts(POSITION_4, 6L, 264L, 9467L, 422333L);
+    }
+
+    @Test
+    void position5() {
+        assertCounts(POSITION_5, 44L, 1486L, 62379L, 2103487L);
+    }
+
+    @Test
+    void divideMatchesSequentialCount() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(4085603L, Perft.divide(new ChessMatch(KIWIPETE), 4, pool).getNodes());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void makeAndUndoRestoreThePosition() {
+        ChessMatch match = new ChessMatch(KIWIPETE);
+        String fen = match.toFen();
+        long key = match.getZobristKey();
+        Perft.perft(match, 3);
+        assertEquals(fen, match.toFen());
+        assertEquals(key, match.getZobristKey());
+    }
+
+    private static void assertCounts(String fen, long... counts) {
+        for (int depth = 1; depth <= counts.length; depth++)
+            assertEquals(counts[depth - 1], Perft.perft(new ChessMatch(fen), depth), fen + " profundidade " + depth);
+    }
+}
@@ -0,0 +1,126 @@
+package chess.pgn;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SanTest {
+
+    // Perft positions: castling both ways, en passant, promotions with and without capture, pins and checks
+    private static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+    };
+    private static final String PROMOTION = "4k3/8/8/8/8/8/1p6/R3K3 b - - 0 1";
+
+    // Every legal move three plies deep formats to a SAN that is unique among its siblings and parses back to it
+    @Test
+    void roundTripsPerftPositions() {
+        for (String fen : POSITIONS)
+            roundTrip(new ChessMatch(fen), 3);
+    }
+
+    @Test
+    void formatsKnownMoves() {
+        String kiwipete = POSITIONS[1];
+        assertSan(kiwipete, "e1g1", "O-O");
+        assertSan(kiwipete, "e1c1", "O-O-O");
+        assertSan(kiwipete, "d5e6", "dxe6");
+        assertSan(kiwipete, "e5f7", "Nxf7");
+        assertSan(kiwipete, "f3f6", "Qxf6");
+        assertSan(PROMOTION, "b2a1q", "bxa1=Q+");
+        assertSan(PROMOTION, "b2b1n", "b1=N");
+        assertSan(POSITIONS[4], "d7c8r", "dxc8=R");
+        assertSan("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 3", "e5d6", "exd6");
+        assertSan("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4", "h5f7", "Qxf7#");
+        assertSan("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1", "a1a8", "Ra8+");
+    }
+
+    @Test
+    void disambiguates() {
+        String files = "7k/8/8/8/8/8/8/R4RK1 w - - 0 1";
+        assertSan(files, "a1e1", "Rae1");
+        assertSan(files, "f1e1", "Rfe1");
+        String ranks = "7k/8/8/R7/8/8/8/R3K3 w - - 0 1";
+        assertSan(ranks, "a5a3", "R5a3");
+        assertSan(ranks, "a1a3", "R1a3");
+        String queens = "8/7k/8/8/8/Q1Q5/8/Q3K3 w - - 0 1";
+        assertSan(queens, "a3b2", "Qa3b2");
+        assertSan(queens, "c3b2", "Qcb2");
+        assertSan(queens, "a1b2", "Q1b2");
+    }
+
+    @Test
+    void parsesLenientForms() {
+        assertParse(POSITIONS[0], "e4!?", "e2e4");
+        assertParse(POSITIONS[0], "Ng1f3", "g1f3");
+        assertParse(POSITIONS[1], "0-0", "e1g1");
+        assertParse(POSITIONS[1], "O-O-O+", "e1c1");
+        assertParse(PROMOTION, "bxa1Q", "b2a1q");
+        assertParse(PROMOTION, "b1=N", "b2b1n");
+    }
+
+    @Test
+    void rejectsInvalidAndAmbiguousMoves() {
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        ChessMatch match = new ChessMatch("7k/8/8/8/8/8/8/R4RK1 w - - 0 1");
+        ChessException e = assertThrows(ChessException.class, () -> San.parse(match, "Re1", moves));
+        assertTrue(e.getMessage().startsWith("Lance ambíguo"), e.getMessage());
+        for (String san : new String[]{"", "e", "e5", "Ke3", "O-O", "Rz1", "a1=Q", "Ra9"})
+            assertThrows(ChessException.class, () -> San.parse(match, san, moves), san);
+    }
+
+    private static void roundTrip(ChessMatch match, int depth) {
+        int[] legal = new int[ChessMatch.MAX_MOVES];
+        int[] scratch = new int[ChessMatch.MAX_MOVES];
+        int count = match.legalMoves(legal);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int move = legal[i];
+            String san = San.format(match, move, scratch);
+            if (!seen.add(san))
+                fail("SAN repetido " + san + " em " + match.toFen());
+            assertEquals(move, San.parse(match, san, scratch), san + " em " + match.toFen());
+            if (depth > 1) {
+                match.makeMove(move);
+                roundTrip(match, depth - 1);
+                match.undoMove(move);
+            }
+        }
+    }
+
+    private static void assertSan(String fen, String uci, String san) {
+        ChessMatch match = new ChessMatch(fen);
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        int move = find(match, uci);
+        assertEquals(san, San.format(match, move, moves), fen);
+        assertEquals(move, San.parse(match, san, moves), fen);
+    }
+
+    private static void assertParse(String fen, String san, String uci) {
+        ChessMatch match = new ChessMatch(fen);
+        assertEquals(uci, Move.toString(San.parse(match, san, new int[ChessMatch.MAX_MOVES])), fen);
+    }
+
+    private static int find(ChessMatch match, String uci) {
+        int[] moves = new int[ChessMatch.MAX_MOVES];
+        int count = match.legalMoves(moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.toString(moves[i]).equals(uci))
+                return moves[i];
+        }
+        throw new AssertionError(uci + " não é legal em " + match.toFen());
+    }
+}
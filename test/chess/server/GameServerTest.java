@@ -0,0 +1,129 @@
+package chess.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameServerTest {
+
+    private GameServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new GameServer(0);
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void playsAMatch() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("OK 1", client.request("NEW"));
+            assertEquals("OK 1 e2e4 -", client.request("MOVE 1 e2e4"));
+            assertEquals("OK 1 f7f6 -", client.request("MOVE 1 f7f6"));
+            assertEquals("OK 1 d1h5 CHECK", client.request("MOVE 1 d1h5"));
+            assertEquals("OK 1 rnbqkbnr/ppppp1pp/5p2/7Q/4P3/8/PPPP1PPP/RNB1KBNR b KQkq - 0 2", client.request("FEN 1"));
+            assertEquals("OK 1", client.request("close 1"));
+            assertEquals("ERR Partida inexistente: 1", client.request("FEN 1"));
+            assertEquals(3L, server.getMoveCount());
+            client.send("QUIT");
+            assertNull(client.in.readLine());
+        }
+    }
+
+    @Test
+    void startsFromFenAndEndsOnMate() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("OK 1", client.request("NEW 7k/5Q2/6K1/8/8/8/8/8 w - - 0 1"));
+            assertEquals("OK 1 f7g7 CHECKMATE", client.request("MOVE 1 f7g7"));
+            assertEquals("ERR Partida encerrada", client.request("MOVE 1 h8g7"));
+            assertEquals("OK 2", client.request("NEW 8/P6k/8/8/8/8/8/K7 w - - 0 1"));
+            assertEquals("OK 2 a7a8n -", client.request("MOVE 2 a7a8n"));
+            assertTrue(client.request("FEN 2").startsWith("OK 2 N7/7k/"));
+        }
+    }
+
+    @Test
+    void answersErrorsAndKeepsTheConnection() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("OK 1", client.request("NEW"));
+            assertEquals("ERR Não existe peça nessa posição", client.request("MOVE 1 e3e4"));
+            assertEquals("ERR Esta peça pertence ao adversário", client.request("MOVE 1 e7e5"));
+            assertEquals("ERR Não existem movimentos possiveis para esta peça!", client.request("MOVE 1 a1a2"));
+            assertEquals("ERR Não é possivel mover esta peça para a posição escolhida", client.request("MOVE 1 e2e5"));
+            assertEquals("ERR Lance inválido: e2", client.request("MOVE 1 e2"));
+            assertEquals("ERR Uso: MOVE <id> <lance>", client.request("MOVE 1"));
+            assertEquals("ERR Partida não informada", client.request("FEN"));
+            assertEquals("ERR Partida inválida: x", client.request("FEN x"));
+            assertEquals("ERR Partida inexistente: 9", client.request("CLOSE 9"));
+            assertEquals("ERR Comando desconhecido: PLAY", client.request("PLAY"));
+            assertTrue(client.request("NEW 8/8/8/8/8/8/8/K1k4Q w - - 0 1").startsWith("ERR FEN inválido"));
+            assertEquals("OK 1 e2e4 -", client.request("MOVE 1 e2e4"));
+        }
+    }
+
+    // Matches outlive neither CLOSE nor the connection that opened them; other connections may use them meanwhile
+    @Test
+    void disconnectClosesTheSessionsMatches() throws IOException, InterruptedException {
+        try (Client owner = new Client(); Client other = new Client()) {
+            assertEquals("OK 1", owner.request("NEW"));
+            assertEquals("OK 2", owner.request("NEW"));
+            assertEquals("OK 3", other.request("NEW"));
+            assertEquals("OK 1", owner.request("CLOSE 1"));
+            assertEquals("OK 2 e2e4 -", other.request("MOVE 2 e2e4"));
+            assertEquals(2, server.getMatchCount());
+
+            owner.close();
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (server.getMatchCount() > 1 && System.nanoTime() < deadline)
+                Thread.sleep(10);
+            assertEquals(1, server.getMatchCount());
+            assertEquals("ERR Partida inexistente: 2", other.request("FEN 2"));
+            assertTrue(other.request("FEN 3").startsWith("OK 3 "));
+        }
+    }
+
+    private final class Client implements AutoCloseable {
+
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        void send(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+        }
+
+        String request(String line) throws IOException {
+            send(line);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package chess.tablebase;
+
+import chess.ChessMatch;
+import chess.Color;
+import chess.GameState;
+import chess.Move;
+import chess.PieceType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Longest mates are the published values for each ending, in moves
+class TablebasesTest {
+
+    private static final Tablebases TABLEBASES = new Tablebases();
+
+    @BeforeAll
+    static void generate() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String signature : new String[]{"KQK", "KRK", "KPK", "KBNK"})
+            TABLEBASES.generate(signature, threads);
+    }
+
+    @Test
+    void longestMates() {
+        assertEquals(10, longestMate("KQK"));
+        assertEquals(16, longestMate("KRK"));
+        assertEquals(28, longestMate("KPK"));
+        assertEquals(33, longestMate("KBNK"));
+    }
+
+    @Test
+    void knownResults() {
+        assertResult("k7/8/8/8/8/8/P7/K7 w - - 0 1", EndgameTable.DRAW, 0);
+        assertResult("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1", EndgameTable.WIN, -1);
+        assertResult("k6R/8/K7/8/8/8/8/8 b - - 0 1", EndgameTable.LOSS, 0);
+        assertResult("7k/5Q2/6K1/8/8/8/8/8 w - - 0 1", EndgameTable.WIN, 1);
+        assertResult("8/8/8/8/8/8/8/kbK5 w - - 0 1", EndgameTable.DRAW, 0);
+    }
+
+    // Playing the best move from a win must leave the opponent lost one move sooner, down to mate
+    @Test
+    void bestMoveShortensTheMate() {
+        ChessMatch match = new ChessMatch("8/8/8/4k3/8/8/8/KBN5 w - - 0 1");
+        TablebaseResult result = TABLEBASES.probe(match);
+        assertTrue(result.isWin());
+        for (int moves = result.getDistanceToMate(); moves > 0; moves--) {
+            int best = TABLEBASES.bestMove(match);
+            assertNotEquals(Move.NONE, best);
+            match.makeMove(best);
+            TablebaseResult reply = TABLEBASES.probe(match);
+            assertTrue(reply.isLoss());
+            assertEquals(moves - 1, reply.getDistanceToMate());
+            if (moves > 1) {
+                match.makeMove(TABLEBASES.bestMove(match));
+                assertEquals(moves - 1, TABLEBASES.probe(match).getDistanceToMate());
+            }
+        }
+        int[] legal = new int[ChessMatch.MAX_MOVES];
+        assertEquals(0, match.legalMoves(legal));
+        assertTrue(match.testCheck(match.getCurrentPlayer()));
+    }
+
+    // Built without Fen.parse, which refuses it: white to move while the black king is attacked
+    @Test
+    void sideNotToMoveInCheckIsNotCovered() {
+        long[] pieces = new long[Color.values().length * PieceType.values().length];
+        pieces[index(Color.WHITE, PieceType.KING)] = 1L << 56;
+        pieces[index(Color.BLACK, PieceType.KING)] = 1L << 58;
+        pieces[index(Color.WHITE, PieceType.QUEEN)] = 1L << 63;
+        ChessMatch match = new ChessMatch(new GameState(pieces, Color.WHITE, 0, -1, 1, false, false));
+        assertNull(TABLEBASES.probe(match));
+        assertEquals(Move.NONE, TABLEBASES.bestMove(match));
+    }
+
+    // Mate played through tryMove leaves the winner as current player
+    @Test
+    void finishedMatchIsAMateForTheLoser() {
+        ChessMatch match = new ChessMatch("7k/5Q2/6K1/8/8/8/8/8 w - - 0 1");
+        match.tryMove(13, 14);
+        assertTrue(match.isCheckMate());
+        TablebaseResult result = TABLEBASES.probe(match);
+        assertTrue(result.isLoss());
+        assertEquals(0, result.getDistanceToMate());
+        assertEquals(Move.NONE, TABLEBASES.bestMove(match));
+    }
+
+    @Test
+    void uncoveredPositions() {
+        assertNull(TABLEBASES.probe(new ChessMatch()));
+        assertNull(TABLEBASES.probe(new ChessMatch("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1")));
+        assertNull(TABLEBASES.probe(new ChessMatch("4k3/8/8/8/8/8/8/3QK2R w - - 0 1")));
+    }
+
+    private static int longestMate(String signature) {
+        EndgameTable table = null;
+        for (EndgameTable t : TABLEBASES.getTables()) {
+            if (t.getMaterial().equals(Material.parse(signature).canonical()))
+                table = t;
+        }
+        assertNotNull(table, signature);
+        int longest = 0;
+        for (int index = 0; index < table.size(); index++) {
+            int value = table.value(index);
+            if (EndgameTable.result(value) == EndgameTable.WIN)
+                longest = Math.max(longest, EndgameTable.dtm(value));
+        }
+        return longest;
+    }
+
+    // A negative distance only checks the result
+    private static void assertResult(String fen, int result, int distanceToMate) {
+        TablebaseResult probe = TABLEBASES.probe(new ChessMatch(fen));
+        assertNotNull(probe, fen);
+        assertEquals(result, probe.getResult(), fen);
+        if (distanceToMate >= 0)
+            assertEquals(distanceToMate, probe.getDistanceToMate(), fen);
+    }
+
+    private static int index(Color color, PieceType type) {
+        return color.ordinal() * PieceType.values().length + type.ordinal();
+    }
+}